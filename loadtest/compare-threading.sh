@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Runs the same k6 load against the application twice, once on the default platform
+# thread pool and once with the "virtual" profile, and prints throughput and latency
+# side by side. Needs a Java 21+ runtime (the virtual profile is a no-op on 17), k6 and jq.
+#
+#   ./gradlew bootJar && loadtest/compare-threading.sh
+#   VUS=1000 DURATION=5m loadtest/compare-threading.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${JAR:-$(ls build/libs/*.jar | grep -v plain | head -n 1)}
+PORT=${PORT:-8080}
+VUS=${VUS:-400}
+DURATION=${DURATION:-2m}
+OUT=${OUT:-build/reports/loadtest}
+mkdir -p "$OUT"
+
+run_mode() {
+    local mode=$1 profile=$2
+    echo "== $mode threads"
+    java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" \
+        --spring.profiles.active="$profile" \
+        --spring.datasource.url="jdbc:h2:mem:loadtest_$mode" >"$OUT/$mode-app.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+    until curl -sf "http://localhost:$PORT/actuator/health" >/dev/null; do
+        kill -0 "$pid" || { echo "application failed to start, see $OUT/$mode-app.log"; exit 1; }
+        sleep 1
+    done
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e VUS="$VUS" -e DURATION="$DURATION" \
+        -e RUN_ID="$mode" --summary-export "$OUT/$mode.json" loadtest/mixed-load.js || true
+    curl -s "http://localhost:$PORT/actuator/prometheus" >"$OUT/$mode-metrics.txt" || true
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform default
+run_mode virtual virtual
+
+printf '\n%-10s %10s %10s %10s %10s %10s\n' mode req/s p50_ms p95_ms p99_ms failed
+for mode in platform virtual; do
+    jq -r --arg mode "$mode" '
+        .metrics["http_req_duration{phase:steady}"] as $d
+        | [$mode,
+           (.metrics.http_reqs.rate | floor),
+           ($d["p(50)"] | floor), ($d["p(95)"] | floor), ($d["p(99)"] | floor),
+           (.metrics["http_req_failed{phase:steady}"].value)]
+        | @tsv' "$OUT/$mode.json" | xargs printf '%-10s %10s %10s %10s %10s %10s\n'
+done
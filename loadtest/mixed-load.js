@@ -0,0 +1,83 @@
+// Mixed read/write load for comparing the platform and virtual thread request modes.
+// Each virtual user registers its own account once, logs in (session cookie kept in
+// the VU's cookie jar) and then loops over the list, report, goal and create endpoints.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURATION=2m loadtest/mixed-load.js
+import http from 'k6/http';
+import { check } from 'k6';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RUN_ID = __ENV.RUN_ID || `${Date.now()}`;
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 400) },
+                { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 400) },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    // Login (BCrypt) is excluded from the tagged latency so only steady-state traffic is compared
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_failed{phase:steady}': ['rate<0.01'],
+        'http_req_duration{phase:steady}': ['p(99)<2000'],
+    },
+};
+
+let loggedIn = false;
+
+function login() {
+    const username = `load_${RUN_ID}_${exec.vu.idInTest}`;
+    const credentials = JSON.stringify({ username, password: 'LoadTest#2024' });
+    http.post(`${BASE_URL}/api/auth/register`, JSON.stringify({
+        username, password: 'LoadTest#2024', fullName: 'Load Test', phoneNumber: '0000000000',
+    }), JSON_HEADERS);
+    const res = http.post(`${BASE_URL}/api/auth/login`, credentials, JSON_HEADERS);
+    check(res, { 'login ok': (r) => r.status === 200 });
+    // Listing categories creates the defaults ("Food", "Salary", ...) for a new user
+    http.get(`${BASE_URL}/api/categories`);
+    loggedIn = res.status === 200;
+}
+
+function today() {
+    return new Date().toISOString().slice(0, 10);
+}
+
+export default function () {
+    if (!loggedIn) {
+        login();
+        return;
+    }
+    const now = new Date();
+
+    const roll = Math.random();
+    let res;
+    if (roll < 0.2) {
+        res = http.post(`${BASE_URL}/api/transactions`, JSON.stringify({
+            amount: (Math.random() * 200 + 1).toFixed(2),
+            date: today(),
+            category: Math.random() < 0.2 ? 'Salary' : 'Food',
+            description: 'load test',
+        }), { headers: JSON_HEADERS.headers, tags: { phase: 'steady', name: 'create' } });
+    } else if (roll < 0.5) {
+        res = http.get(`${BASE_URL}/api/transactions?limit=50`,
+            { tags: { phase: 'steady', name: 'page' } });
+    } else if (roll < 0.75) {
+        res = http.get(`${BASE_URL}/api/reports/monthly/${now.getFullYear()}/${now.getMonth() + 1}`,
+            { tags: { phase: 'steady', name: 'monthly' } });
+    } else if (roll < 0.9) {
+        res = http.get(`${BASE_URL}/api/goals`, { tags: { phase: 'steady', name: 'goals' } });
+    } else {
+        res = http.get(`${BASE_URL}/api/reports/yearly/${now.getFullYear()}`,
+            { tags: { phase: 'steady', name: 'yearly' } });
+    }
+    check(res, { 'status 2xx': (r) => r.status >= 200 && r.status < 300 }, { phase: 'steady' });
+}
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Compares boot time of the prod profile with Flyway only (ddl-auto=none) against the same
+# boot with Hibernate schema update on top (ddl-auto=update). Both run against a database
+# that is already migrated, so the one-time Flyway migration is not counted.
+#
+#   ./gradlew bootJar && loadtest/startup-time.sh
+#   RUNS=10 loadtest/startup-time.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${JAR:-$(ls build/libs/*.jar | grep -v plain | head -n 1)}
+RUNS=${RUNS:-5}
+DATA_DIR=$(mktemp -d)
+trap 'rm -rf "$DATA_DIR"' EXIT
+
+# Prints the "Started FinanceManagerApplication in X seconds" value of one boot
+boot_seconds() {
+    local log="$DATA_DIR/boot.log"
+    APP_DATA_DIR="$DATA_DIR" java ${JAVA_OPTS:-} -jar "$JAR" --spring.profiles.active=prod \
+        --server.port=0 "$@" >"$log" 2>&1 &
+    local pid=$!
+    until grep -q "Started FinanceManagerApplication" "$log"; do
+        kill -0 "$pid" 2>/dev/null || { echo "boot failed, see $log" >&2; cat "$log" >&2; exit 1; }
+        sleep 0.2
+    done
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    sed -n 's/.*Started FinanceManagerApplication in \([0-9.]*\) seconds.*/\1/p' "$log"
+}
+
+echo "Migrating a fresh database in $DATA_DIR"
+boot_seconds >/dev/null
+
+for mode in none update; do
+    times=()
+    for _ in $(seq "$RUNS"); do
+        times+=("$(boot_seconds --spring.jpa.hibernate.ddl-auto="$mode")")
+    done
+    printf 'ddl-auto=%-7s %s\n' "$mode" "$(printf '%s\n' "${times[@]}" | sort -n \
+        | awk '{ t[NR] = $1; sum += $1 } END { printf "median %.2fs  mean %.2fs  (n=%d)", t[int((NR + 1) / 2)], sum / NR, NR }')"
+done
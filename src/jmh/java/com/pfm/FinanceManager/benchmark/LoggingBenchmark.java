@@ -0,0 +1,103 @@
+package com.pfm.FinanceManager.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.pfm.FinanceManager.logging.LevelSamplingTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a service-layer INFO line on the calling thread, with 4 threads logging at once
+ * (like concurrent requests), for the synchronous appender used by default and the prod
+ * pipeline from logback-spring.xml (async queue, optionally 1-in-10 INFO sampling).
+ * All modes write the same pattern to a real file so only the pipeline differs.
+ * Note that the async modes drop INFO when the queue stays full, which the prod config
+ * accepts in exchange for never blocking a request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String SERVICE_LOGGER = "com.pfm.FinanceManager.service.impl.TransactionServiceImpl";
+
+    @Param({"SYNC", "ASYNC", "ASYNC_SAMPLED"})
+    public String pipeline;
+
+    private LoggerContext context;
+    private Logger logger;
+    private Path logFile;
+    private final LocalDate start = LocalDate.of(2024, 1, 1);
+    private final LocalDate end = LocalDate.of(2024, 12, 31);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("pfm-logging-benchmark", ".log");
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> root = file;
+        if (!pipeline.equals("SYNC")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            root = async;
+        }
+        if (pipeline.equals("ASYNC_SAMPLED")) {
+            LevelSamplingTurboFilter sampling = new LevelSamplingTurboFilter();
+            sampling.setLoggerPrefix("com.pfm.FinanceManager.service");
+            sampling.setInfoSampleRate(10);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        rootLogger.addAppender(root);
+        logger = context.getLogger(SERVICE_LOGGER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void serviceInfoLine() {
+        logger.info("Fetching transactions for user id: {} between {} and {}", 42L, start, end);
+    }
+}
@@ -0,0 +1,110 @@
+package com.pfm.FinanceManager.benchmark;
+
+import com.pfm.FinanceManager.dto.GoalProgress;
+import com.pfm.FinanceManager.dto.GoalResponse;
+import com.pfm.FinanceManager.dto.TransactionResponse;
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.SavingsGoal;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.repository.SavingsGoalRepository;
+import com.pfm.FinanceManager.repository.TransactionRepository;
+import com.pfm.FinanceManager.service.impl.SavingsGoalServiceImpl;
+import com.pfm.FinanceManager.service.impl.TransactionServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO mapping cost of the list endpoints, with repositories stubbed in memory:
+ * TransactionServiceImpl.mapToDto via getAll() and SavingsGoalServiceImpl.mapToGoalResponse
+ * via getAllGoals().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class TransactionState {
+
+        @Param({"1000", "100000", "1000000"})
+        public int transactionCount;
+
+        TransactionServiceImpl transactionService;
+
+        @Setup
+        public void setUp() {
+            User user = SyntheticData.user();
+            List<Category> categories = SyntheticData.categories(user);
+            List<Transaction> transactions = SyntheticData.transactions(user, categories, transactionCount);
+            TransactionRepository transactionRepo = SyntheticData.repository(TransactionRepository.class,
+                    Map.of("findByUser", args -> transactions));
+            transactionService = new TransactionServiceImpl(transactionRepo, null, SyntheticData.sessionFor(user),
+                    null, null, null, null, null, null);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GoalState {
+
+        @Param({"10", "1000"})
+        public int goalCount;
+
+        SavingsGoalServiceImpl goalService;
+
+        @Setup
+        public void setUp() {
+            User user = SyntheticData.user();
+            List<SavingsGoal> goals = new ArrayList<>(goalCount);
+            List<GoalProgress> progress = new ArrayList<>(goalCount);
+            for (int i = 0; i < goalCount; i++) {
+                SavingsGoal goal = new SavingsGoal();
+                goal.setId(i + 1L);
+                goal.setGoalName("Goal " + i);
+                goal.setTargetAmount(BigDecimal.valueOf(10_000 + i * 100L, 2));
+                goal.setStartDate(SyntheticData.FIRST_DAY);
+                goal.setTargetDate(SyntheticData.FIRST_DAY.plusMonths(1 + i % 24));
+                goal.setUser(user);
+                goals.add(goal);
+                progress.add(goalProgress(goal.getId(), BigDecimal.valueOf(5_000 + i * 37L, 2), BigDecimal.valueOf(i * 11L, 2)));
+            }
+            SavingsGoalRepository goalRepo = SyntheticData.repository(SavingsGoalRepository.class, Map.of(
+                    "findByUser", args -> goals,
+                    "findProgressByUser", args -> progress));
+            goalService = new SavingsGoalServiceImpl(goalRepo, SyntheticData.sessionFor(user), SyntheticData.noColumnarStore(),
+                    event -> { });
+        }
+    }
+
+    @Benchmark
+    public List<TransactionResponse> mapTransactions(TransactionState state) {
+        return state.transactionService.getAll();
+    }
+
+    @Benchmark
+    public List<GoalResponse> mapGoals(GoalState state) {
+        return state.goalService.getAllGoals();
+    }
+
+    private static GoalProgress goalProgress(Long goalId, BigDecimal income, BigDecimal expense) {
+        return new GoalProgress() {
+            @Override
+            public Long getGoalId() { return goalId; }
+            @Override
+            public BigDecimal getIncome() { return income; }
+            @Override
+            public BigDecimal getExpense() { return expense; }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.pfm.FinanceManager.benchmark;
+
+import com.pfm.FinanceManager.cache.ReportCache;
+import com.pfm.FinanceManager.dto.CategoryTotal;
+import com.pfm.FinanceManager.dto.MonthlyReportResponse;
+import com.pfm.FinanceManager.dto.YearlyReportResponse;
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.repository.MonthlyCategoryTotalRepository;
+import com.pfm.FinanceManager.service.impl.ReportServiceImpl;
+import com.pfm.FinanceManager.util.CentsAccumulator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory report aggregation: summing a user's raw transactions per category (the cost
+ * the report paid before the monthly rollup) with BigDecimal map updates and with
+ * {@link CentsAccumulator}, against building the report from rollup rows and against a
+ * report cache hit, and against answering it from the in-memory columnar store. Run with the gc profiler (enabled in build.gradle) to compare
+ * {@code gc.alloc.rate.norm} per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportAggregationBenchmark {
+
+    private static final int REPORT_MONTH = 6;
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactionCount;
+
+    private List<Transaction> transactions;
+    private Map<Long, String> categoryNames;
+    private ReportServiceImpl reportService;
+    private ReportServiceImpl cachedReportService;
+    private ReportServiceImpl columnarReportService;
+
+    @Setup
+    public void setUp() {
+        User user = SyntheticData.user();
+        List<Category> categories = SyntheticData.categories(user);
+        transactions = SyntheticData.transactions(user, categories, transactionCount);
+        categoryNames = categories.stream().collect(Collectors.toMap(Category::getId, Category::getName));
+
+        List<CategoryTotal> monthRows = SyntheticData.categoryTotals(transactions, REPORT_MONTH, REPORT_MONTH);
+        List<CategoryTotal> yearRows = SyntheticData.categoryTotals(transactions, 1, 12);
+        MonthlyCategoryTotalRepository rollupRepo = SyntheticData.repository(MonthlyCategoryTotalRepository.class,
+                Map.of("sumByCategoryAndType", args -> (int) args[2] == (int) args[3] ? monthRows : yearRows));
+        // Zero TTL: every call rebuilds the report from the rollup rows
+        reportService = new ReportServiceImpl(rollupRepo, SyntheticData.sessionFor(user),
+                new ReportCache(new SimpleMeterRegistry(), 1, Duration.ZERO, true), SyntheticData.noColumnarStore());
+        cachedReportService = new ReportServiceImpl(rollupRepo, SyntheticData.sessionFor(user),
+                new ReportCache(new SimpleMeterRegistry(), 100, Duration.ofHours(1), true), SyntheticData.noColumnarStore());
+        columnarReportService = new ReportServiceImpl(rollupRepo, SyntheticData.sessionFor(user),
+                new ReportCache(new SimpleMeterRegistry(), 1, Duration.ZERO, true), SyntheticData.columnarStore(user, transactions));
+
+        MonthlyReportResponse expected = monthlyTotalsBigDecimal();
+        MonthlyReportResponse actual = monthlyTotalsCents();
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Cents aggregation differs: " + expected + " vs " + actual);
+        }
+        MonthlyReportResponse columnar = monthlyReportFromColumns();
+        if (!expected.equals(columnar)) {
+            throw new IllegalStateException("Columnar report differs: " + expected + " vs " + columnar);
+        }
+    }
+
+    // The per-transaction loop ReportServiceImpl ran before the rollup: one BigDecimal per row
+    @Benchmark
+    public MonthlyReportResponse monthlyTotalsBigDecimal() {
+        Map<String, BigDecimal> income = new HashMap<>();
+        Map<String, BigDecimal> expenses = new HashMap<>();
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
+        for (Transaction t : transactions) {
+            if (t.getDate().getMonthValue() != REPORT_MONTH) {
+                continue;
+            }
+            String name = t.getCategory().getName();
+            if (t.getType() == TransactionType.INCOME) {
+                income.put(name, income.getOrDefault(name, BigDecimal.ZERO).add(t.getAmount()));
+                totalIncome = totalIncome.add(t.getAmount());
+            } else {
+                expenses.put(name, expenses.getOrDefault(name, BigDecimal.ZERO).add(t.getAmount()));
+                totalExpenses = totalExpenses.add(t.getAmount());
+            }
+        }
+        return new MonthlyReportResponse(REPORT_MONTH, SyntheticData.YEAR, income, expenses, totalIncome.subtract(totalExpenses));
+    }
+
+    @Benchmark
+    public MonthlyReportResponse monthlyTotalsCents() {
+        CentsAccumulator<Long> income = new CentsAccumulator<>();
+        CentsAccumulator<Long> expenses = new CentsAccumulator<>();
+        for (Transaction t : transactions) {
+            if (t.getDate().getMonthValue() != REPORT_MONTH) {
+                continue;
+            }
+            (t.getType() == TransactionType.INCOME ? income : expenses).add(t.getCategory().getId(), t.getAmount());
+        }
+        Function<Long, String> name = categoryNames::get;
+        return new MonthlyReportResponse(REPORT_MONTH, SyntheticData.YEAR, new HashMap<>(income.toMap(name)),
+                new HashMap<>(expenses.toMap(name)), income.grandTotal().subtract(expenses.grandTotal()));
+    }
+
+    @Benchmark
+    public MonthlyReportResponse monthlyReportFromRollup() {
+        return reportService.getMonthlyReport(SyntheticData.YEAR, REPORT_MONTH);
+    }
+
+    @Benchmark
+    public MonthlyReportResponse monthlyReportCached() {
+        return cachedReportService.getMonthlyReport(SyntheticData.YEAR, REPORT_MONTH);
+    }
+
+    @Benchmark
+    public YearlyReportResponse yearlyReportFromRollup() {
+        return reportService.getYearlyReport(SyntheticData.YEAR);
+    }
+
+    // Report cache disabled, so every call scans the month's slice of the columns
+    @Benchmark
+    public MonthlyReportResponse monthlyReportFromColumns() {
+        return columnarReportService.getMonthlyReport(SyntheticData.YEAR, REPORT_MONTH);
+    }
+
+    @Benchmark
+    public YearlyReportResponse yearlyReportFromColumns() {
+        return columnarReportService.getYearlyReport(SyntheticData.YEAR);
+    }
+}
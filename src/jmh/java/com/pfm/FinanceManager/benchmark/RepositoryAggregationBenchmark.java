@@ -0,0 +1,151 @@
+package com.pfm.FinanceManager.benchmark;
+
+import com.pfm.FinanceManager.FinanceManagerApplication;
+import com.pfm.FinanceManager.dto.CategoryTotal;
+import com.pfm.FinanceManager.dto.GoalProgress;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.repository.MonthlyCategoryTotalRepository;
+import com.pfm.FinanceManager.repository.SavingsGoalRepository;
+import com.pfm.FinanceManager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository-backed aggregation against H2 through the application's own repositories and
+ * Flyway schema. Each trial boots the application on a fresh in-memory database and seeds
+ * one synthetic user with JDBC batch inserts; the rollup table is filled with one grouped
+ * INSERT ... SELECT, the same totals the write path maintains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryAggregationBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final int REPORT_MONTH = 6;
+    // The per-request grouping the reports ran before the rollup existed; kept here as the baseline
+    private static final String TRANSACTION_TOTALS_QUERY =
+            "SELECT c.name, t.type, SUM(t.amount) " +
+            "FROM Transaction t JOIN t.category c " +
+            "WHERE t.user = ?1 AND t.date BETWEEN ?2 AND ?3 " +
+            "GROUP BY c.name, t.type";
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactionCount;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private MonthlyCategoryTotalRepository rollupRepo;
+    private SavingsGoalRepository goalRepo;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(FinanceManagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh_" + transactionCount + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "app.goals.status-cron=-")
+                .run();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        rollupRepo = context.getBean(MonthlyCategoryTotalRepository.class);
+        goalRepo = context.getBean(SavingsGoalRepository.class);
+
+        seed(context.getBean(JdbcTemplate.class));
+        user = context.getBean(UserRepository.class).findById(1L).orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public List<Object[]> monthlyTotalsFromTransactions() {
+        return entityManager.createQuery(TRANSACTION_TOTALS_QUERY, Object[].class)
+                .setParameter(1, user)
+                .setParameter(2, SyntheticData.month(REPORT_MONTH).atDay(1))
+                .setParameter(3, SyntheticData.month(REPORT_MONTH).atEndOfMonth())
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<CategoryTotal> monthlyTotalsFromRollup() {
+        return rollupRepo.sumByCategoryAndType(user, SyntheticData.YEAR, REPORT_MONTH, REPORT_MONTH);
+    }
+
+    @Benchmark
+    public List<CategoryTotal> yearlyTotalsFromRollup() {
+        return rollupRepo.sumByCategoryAndType(user, SyntheticData.YEAR, 1, 12);
+    }
+
+    @Benchmark
+    public List<GoalProgress> goalProgress() {
+        return goalRepo.findProgressByUser(user);
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        User template = SyntheticData.user();
+        jdbc.update("INSERT INTO users (id, full_name, username, password, phone_number) VALUES (?, ?, ?, ?, ?)",
+                template.getId(), template.getFullName(), template.getUsername(), "{noop}bench", template.getPhoneNumber());
+
+        List<Object[]> categories = new ArrayList<>();
+        SyntheticData.categories(template).forEach(c ->
+                categories.add(new Object[]{c.getId(), c.getName(), c.getType().name(), template.getId()}));
+        jdbc.batchUpdate("INSERT INTO categories (id, name, type, is_custom, user_id) VALUES (?, ?, ?, FALSE, ?)", categories);
+
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (Transaction t : SyntheticData.transactions(template, SyntheticData.categories(template), transactionCount)) {
+            batch.add(new Object[]{t.getAmount(), Date.valueOf(t.getDate()), t.getDescription(), t.getType().name(),
+                    t.getCategory().getId(), template.getId()});
+            if (batch.size() == SEED_BATCH_SIZE) {
+                insertTransactions(jdbc, batch);
+            }
+        }
+        insertTransactions(jdbc, batch);
+
+        jdbc.update("INSERT INTO monthly_category_totals " +
+                "(user_id, period_year, period_month, category_id, type, total, transaction_count) " +
+                "SELECT user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), category_id, type, SUM(amount), COUNT(*) " +
+                "FROM transactions GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), category_id, type");
+
+        for (int quarter = 0; quarter < 4; quarter++) {
+            LocalDate start = SyntheticData.FIRST_DAY.plusMonths(quarter * 3L);
+            jdbc.update("INSERT INTO savings_goals (goal_name, target_amount, start_date, target_date, status, user_id) " +
+                            "VALUES (?, ?, ?, ?, 'IN_PROGRESS', ?)",
+                    "Q" + (quarter + 1), 50_000, Date.valueOf(start), Date.valueOf(start.plusMonths(3).minusDays(1)),
+                    template.getId());
+        }
+    }
+
+    private static void insertTransactions(JdbcTemplate jdbc, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("INSERT INTO transactions (amount, date, description, type, category_id, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+}
@@ -0,0 +1,188 @@
+package com.pfm.FinanceManager.benchmark;
+
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
+import com.pfm.FinanceManager.dto.CategoryTotal;
+import com.pfm.FinanceManager.dto.TransactionColumnRow;
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.repository.TransactionRepository;
+import com.pfm.FinanceManager.util.SessionUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Deterministic synthetic users for the benchmarks: one user, a fixed category set and
+ * transactions spread evenly over {@link #YEAR}.
+ */
+final class SyntheticData {
+
+    static final int YEAR = 2024;
+    static final LocalDate FIRST_DAY = LocalDate.of(YEAR, 1, 1);
+    static final String[] INCOME_CATEGORIES = {"Salary", "Bonus", "Interest"};
+    static final String[] EXPENSE_CATEGORIES = {"Food", "Rent", "Transport", "Utilities", "Health",
+            "Entertainment", "Shopping", "Travel", "Education"};
+
+    private SyntheticData() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("bench@example.com");
+        user.setFullName("Bench User");
+        user.setPhoneNumber("+10000000000");
+        return user;
+    }
+
+    static List<Category> categories(User user) {
+        List<Category> categories = new ArrayList<>();
+        long id = 1;
+        for (String name : INCOME_CATEGORIES) {
+            categories.add(Category.builder().id(id++).name(name).type(TransactionType.INCOME).user(user).build());
+        }
+        for (String name : EXPENSE_CATEGORIES) {
+            categories.add(Category.builder().id(id++).name(name).type(TransactionType.EXPENSE).user(user).build());
+        }
+        return categories;
+    }
+
+    /**
+     * Roughly one income row per four expense rows, amounts between 1.00 and 999.99.
+     */
+    static List<Transaction> transactions(User user, List<Category> categories, int count) {
+        Random random = new Random(42);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Category category = random.nextInt(5) == 0
+                    ? categories.get(random.nextInt(INCOME_CATEGORIES.length))
+                    : categories.get(INCOME_CATEGORIES.length + random.nextInt(EXPENSE_CATEGORIES.length));
+            transactions.add(Transaction.builder()
+                    .id(i + 1L)
+                    .amount(BigDecimal.valueOf(100 + random.nextInt(99_900), 2))
+                    .date(FIRST_DAY.plusDays(i % FIRST_DAY.lengthOfYear()))
+                    .description("Synthetic transaction " + i)
+                    .type(category.getType())
+                    .category(category)
+                    .user(user)
+                    .build());
+        }
+        return transactions;
+    }
+
+    /**
+     * The rows the monthly rollup would hold for the given months, as the report query returns them.
+     */
+    static List<CategoryTotal> categoryTotals(List<Transaction> transactions, int fromMonth, int toMonth) {
+        Map<Category, BigDecimal> sums = new HashMap<>();
+        for (Transaction t : transactions) {
+            int month = t.getDate().getMonthValue();
+            if (month >= fromMonth && month <= toMonth) {
+                sums.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+            }
+        }
+        List<CategoryTotal> rows = new ArrayList<>();
+        sums.forEach((category, total) -> rows.add(categoryTotal(category.getName(), category.getType(), total)));
+        return rows;
+    }
+
+    static CategoryTotal categoryTotal(String name, TransactionType type, BigDecimal total) {
+        return new CategoryTotal() {
+            @Override
+            public String getCategoryName() { return name; }
+            @Override
+            public TransactionType getType() { return type; }
+            @Override
+            public BigDecimal getTotal() { return total; }
+        };
+    }
+
+    /**
+     * Columnar store holding the given transactions, already loaded for their user.
+     */
+    static ColumnarTransactionStore columnarStore(User user, List<Transaction> transactions) {
+        List<TransactionColumnRow> rows = transactions.stream()
+                .sorted(Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId))
+                .map(SyntheticData::columnRow)
+                .toList();
+        TransactionRepository transactionRepo = repository(TransactionRepository.class,
+                Map.of("findColumnRowsByUserId", args -> rows));
+        ColumnarTransactionStore store = new ColumnarTransactionStore(transactionRepo, new SimpleMeterRegistry(),
+                true, true, Long.MAX_VALUE, Duration.ofHours(1));
+        store.categoryTotals(user.getId(), YEAR, 1, 1);
+        return store;
+    }
+
+    /**
+     * Disabled columnar store: services take their SQL (here: stubbed repository) path.
+     */
+    static ColumnarTransactionStore noColumnarStore() {
+        return new ColumnarTransactionStore(null, new SimpleMeterRegistry(), false, true, 1, Duration.ofHours(1));
+    }
+
+    private static TransactionColumnRow columnRow(Transaction t) {
+        return new TransactionColumnRow() {
+            @Override
+            public Long getId() { return t.getId(); }
+            @Override
+            public LocalDate getDate() { return t.getDate(); }
+            @Override
+            public BigDecimal getAmount() { return t.getAmount(); }
+            @Override
+            public Long getCategoryId() { return t.getCategory().getId(); }
+            @Override
+            public String getCategoryName() { return t.getCategory().getName(); }
+            @Override
+            public TransactionType getType() { return t.getType(); }
+        };
+    }
+
+    static YearMonth month(int month) {
+        return YearMonth.of(YEAR, month);
+    }
+
+    /**
+     * SessionUtil that always returns the given user, without an HTTP session.
+     */
+    static SessionUtil sessionFor(User user) {
+        return new SessionUtil(null, null, null, null) {
+            @Override
+            public User getSessionUser() {
+                return user;
+            }
+        };
+    }
+
+    /**
+     * In-memory repository stub: each named method returns the answer computed from its
+     * arguments; any other repository method fails the benchmark.
+     */
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + " stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+            };
+        });
+        return type.cast(stub);
+    }
+}
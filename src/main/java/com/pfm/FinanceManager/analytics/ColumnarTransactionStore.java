@@ -0,0 +1,205 @@
+package com.pfm.FinanceManager.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pfm.FinanceManager.dto.GoalProgress;
+import com.pfm.FinanceManager.entity.SavingsGoal;
+import com.pfm.FinanceManager.event.CategoryChangedEvent;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Optional read-side engine ({@code app.analytics.columnar.enabled}) that answers report and
+ * goal progress questions from an in-memory {@link TransactionColumns} snapshot per active
+ * user instead of SQL. A user's columns are loaded on first use with one query, then kept in
+ * step with committed writes through {@link TransactionChangedEvent}; users idle for
+ * {@code idle-ttl} are dropped, and the total held is bounded by {@code max-rows} (rows plus
+ * the days covered by each user's index). A user whose rows cannot be held as cents is
+ * cached as SQL-only until the next write or category change, so they are not reloaded per read.
+ * <p>
+ * Every query returns empty when the store is off or cannot answer exactly (e.g. a sum that
+ * would overflow); callers then use their SQL path. Cache metrics are published as "transactionColumns".
+ * <p>
+ * Columns only follow this node's writes, so the store refuses to start with
+ * {@code app.cluster.single-node=false}.
+ */
+@Slf4j
+@Component
+public class ColumnarTransactionStore {
+
+    /**
+     * After-commit listeners of the store run before every other listener of the same
+     * event: ReportCache evicts only after the columns hold the write, so a report rebuilt
+     * in between cannot come from the old columns and be cached again.
+     */
+    public static final int LISTENER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final TransactionRepository transactionRepo;
+    private final boolean enabled;
+    // Empty = SQL-only: the user's rows have sub-cent amounts
+    private final Cache<Long, Optional<TransactionColumns>> columns;
+
+    public ColumnarTransactionStore(TransactionRepository transactionRepo,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.analytics.columnar.enabled:false}") boolean enabled,
+                                    @Value("${app.cluster.single-node:true}") boolean singleNode,
+                                    @Value("${app.analytics.columnar.max-rows:5000000}") long maxRows,
+                                    @Value("${app.analytics.columnar.idle-ttl:30m}") Duration idleTtl) {
+        if (enabled && !singleNode) {
+            throw new IllegalStateException("app.analytics.columnar.enabled requires app.cluster.single-node=true");
+        }
+        this.transactionRepo = transactionRepo;
+        this.enabled = enabled;
+        this.columns = Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .<Long, Optional<TransactionColumns>>weigher((userId, userColumns) ->
+                        userColumns.map(TransactionColumns::weight).orElse(0) + 1)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, columns, "transactionColumns");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Totals for months fromMonth..toMonth of one year, as the monthly and yearly reports need them.
+     */
+    public Optional<PeriodTotals> categoryTotals(Long userId, int year, int fromMonth, int toMonth) {
+        if (fromMonth < 1 || toMonth > 12 || fromMonth > toMonth) {
+            return Optional.empty();
+        }
+        TransactionColumns userColumns = columnsOf(userId);
+        if (userColumns == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(userColumns.totals(YearMonth.of(year, fromMonth).atDay(1).toEpochDay(),
+                    YearMonth.of(year, toMonth).atEndOfMonth().toEpochDay()));
+        } catch (ArithmeticException overflow) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * One entry per month from..to, in order, for the trend report.
+     */
+    public Optional<List<PeriodTotals>> monthlyTotals(Long userId, YearMonth from, YearMonth to) {
+        TransactionColumns userColumns = columnsOf(userId);
+        if (userColumns == null) {
+            return Optional.empty();
+        }
+        List<PeriodTotals> months = new ArrayList<>();
+        try {
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                months.add(userColumns.totals(month.atDay(1).toEpochDay(), month.atEndOfMonth().toEpochDay()));
+            }
+        } catch (ArithmeticException overflow) {
+            return Optional.empty();
+        }
+        return Optional.of(months);
+    }
+
+    /**
+     * Income and expense inside each goal's [startDate, targetDate] window, keyed by goal id,
+     * with the same values as SavingsGoalRepository.findProgressByUser. Each window is two
+     * O(log days) lookups in the user's {@link DailyFlowIndex}; users without one stay on SQL.
+     */
+    public Optional<Map<Long, GoalProgress>> goalProgress(Long userId, Collection<SavingsGoal> goals) {
+        TransactionColumns userColumns = columnsOf(userId);
+        if (userColumns == null) {
+            return Optional.empty();
+        }
+        DailyFlowIndex flows = userColumns.flows();
+        if (flows == null) {
+            return Optional.empty();
+        }
+        Map<Long, GoalProgress> progress = new HashMap<>();
+        for (SavingsGoal goal : goals) {
+            DailyFlowIndex.Window window = flows.window(goal.getStartDate().toEpochDay(), goal.getTargetDate().toEpochDay());
+            // SQL SUM over no rows is null, coalesced to an unscaled zero
+            boolean anyRows = window.rows() > 0;
+            progress.put(goal.getId(), new WindowProgress(goal.getId(),
+                    anyRows ? BigDecimal.valueOf(window.incomeCents(), 2) : BigDecimal.ZERO,
+                    anyRows ? BigDecimal.valueOf(window.expenseCents(), 2) : BigDecimal.ZERO));
+        }
+        return Optional.of(progress);
+    }
+
+    // Runs in the publishing thread after commit; serialized per user with any load in progress.
+    // Ordered first so listeners reading the store (report cache, goal status evaluation) see the write.
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        columns.asMap().computeIfPresent(event.getUserId(), (userId, userColumns) -> {
+            if (userColumns.isEmpty()) {
+                // The write may have removed the sub-cent rows; check again on next read
+                return null;
+            }
+            TransactionColumns updated = userColumns.get().apply(event.getDeltas());
+            if (updated == null) {
+                log.debug("Dropping columns of user ID {}; reloading on next read", userId);
+                return null;
+            }
+            return Optional.of(updated);
+        });
+    }
+
+    // Category names are part of the columns' dictionary
+    @Order(LISTENER_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        columns.invalidate(event.getUserId());
+    }
+
+    private TransactionColumns columnsOf(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        return columns.get(userId, this::load).orElse(null);
+    }
+
+    private Optional<TransactionColumns> load(Long userId) {
+        long started = System.nanoTime();
+        TransactionColumns loaded = TransactionColumns.of(transactionRepo.findColumnRowsByUserId(userId));
+        if (loaded == null) {
+            log.warn("Transactions of user ID {} have sub-cent amounts; reports stay on SQL", userId);
+            return Optional.empty();
+        }
+        log.info("Loaded {} transactions of user ID {} into columns in {} ms",
+                loaded.size(), userId, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return Optional.of(loaded);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class WindowProgress implements GoalProgress {
+        private final Long goalId;
+        private final BigDecimal income;
+        private final BigDecimal expense;
+    }
+}
@@ -0,0 +1,201 @@
+package com.pfm.FinanceManager.analytics;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Fenwick trees over one user's epoch-day buckets: income cents, expense cents and row count
+ * per day. The sum over any date range costs O(log days), and a transaction write updates
+ * O(log days) nodes in place instead of re-adding its period. Writes hold a write lock;
+ * range reads are optimistic and retry under the read lock only if a write overlapped them.
+ * <p>
+ * The covered days run from a year before the first transaction to a year after the last,
+ * so new and backdated writes usually land inside; {@link #add} reports a day outside the
+ * range and the caller rebuilds the index from its rows. Memory is 20 bytes per covered day,
+ * so a user whose dates span more than {@link #MAX_DAYS} gets no index and stays on SQL.
+ */
+final class DailyFlowIndex {
+
+    // Days of headroom kept before the first and after the last transaction
+    private static final int MARGIN_DAYS = 366;
+
+    // Widest covered range, margins included: about 50 years, or under 400 KB per user
+    static final int MAX_DAYS = 50 * 366;
+
+    private final long firstDay;
+    private final long[] income;
+    private final long[] expense;
+    private final int[] rows;
+    private final StampedLock lock = new StampedLock();
+
+    private DailyFlowIndex(long firstDay, long[] income, long[] expense, int[] rows) {
+        this.firstDay = firstDay;
+        this.income = income;
+        this.expense = expense;
+        this.rows = rows;
+    }
+
+    /**
+     * Builds the index in O(rows + days) from columns sorted by day.
+     *
+     * @return null if the rows' dates span more than {@link #MAX_DAYS}
+     * @throws ArithmeticException if a total overflows a long
+     */
+    static DailyFlowIndex of(int[] days, long[] cents, BitSet incomeRows, int size) {
+        if (size == 0) {
+            return new DailyFlowIndex(0, new long[1], new long[1], new int[1]);
+        }
+        long firstDay = (long) days[0] - MARGIN_DAYS;
+        long span = days[size - 1] + MARGIN_DAYS - firstDay + 1;
+        if (span > MAX_DAYS) {
+            return null;
+        }
+        int capacity = (int) span;
+        long[] income = new long[capacity + 1];
+        long[] expense = new long[capacity + 1];
+        int[] rows = new int[capacity + 1];
+
+        for (int i = 0; i < size; i++) {
+            int node = (int) (days[i] - firstDay + 1);
+            if (incomeRows.get(i)) {
+                income[node] = Math.addExact(income[node], cents[i]);
+            } else {
+                expense[node] = Math.addExact(expense[node], cents[i]);
+            }
+            rows[node]++;
+        }
+        // Linear-time construction: push each node's sum into its parent
+        for (int node = 1; node <= capacity; node++) {
+            int parent = node + (node & -node);
+            if (parent <= capacity) {
+                income[parent] = Math.addExact(income[parent], income[node]);
+                expense[parent] = Math.addExact(expense[parent], expense[node]);
+                rows[parent] += rows[node];
+            }
+        }
+        return new DailyFlowIndex(firstDay, income, expense, rows);
+    }
+
+    /**
+     * Applies the rows removed and added by one write, in place and as one step for readers.
+     * A removal passes negated cents and count -1.
+     *
+     * @return false if a day is outside the covered range; the index is then unchanged
+     * @throws ArithmeticException if a total would overflow a long; the index is then unchanged
+     */
+    boolean apply(List<Change> changes) {
+        long incomeAdded = 0;
+        long expenseAdded = 0;
+        for (Change change : changes) {
+            if (change.day() < firstDay || change.day() - firstDay >= capacity()) {
+                return false;
+            }
+            long added = Math.max(change.cents(), 0);
+            if (change.income()) {
+                incomeAdded = Math.addExact(incomeAdded, added);
+            } else {
+                expenseAdded = Math.addExact(expenseAdded, added);
+            }
+        }
+        long stamp = lock.writeLock();
+        try {
+            // Amounts are positive, so every node stays below its tree's total plus what is added
+            Math.addExact(prefixSum(income, capacity()), incomeAdded);
+            Math.addExact(prefixSum(expense, capacity()), expenseAdded);
+            for (Change change : changes) {
+                long[] tree = change.income() ? income : expense;
+                for (int node = (int) (change.day() - firstDay + 1); node <= capacity(); node += node & -node) {
+                    tree[node] += change.cents();
+                    rows[node] += change.count();
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    /**
+     * Income, expense and row count of fromDay..toDay, all read from the same state.
+     */
+    Window window(long fromDay, long toDay) {
+        long stamp = lock.tryOptimisticRead();
+        Window window = readWindow(fromDay, toDay);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                window = readWindow(fromDay, toDay);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return window;
+    }
+
+    long incomeCents(long fromDay, long toDay) {
+        return window(fromDay, toDay).incomeCents();
+    }
+
+    long expenseCents(long fromDay, long toDay) {
+        return window(fromDay, toDay).expenseCents();
+    }
+
+    int rowCount(long fromDay, long toDay) {
+        return window(fromDay, toDay).rows();
+    }
+
+    private Window readWindow(long fromDay, long toDay) {
+        return new Window(rangeSum(income, fromDay, toDay), rangeSum(expense, fromDay, toDay), rangeCount(fromDay, toDay));
+    }
+
+    private int rangeCount(long fromDay, long toDay) {
+        long from = Math.max(fromDay, firstDay);
+        long to = Math.min(toDay, firstDay + capacity() - 1);
+        if (from > to) {
+            return 0;
+        }
+        int count = 0;
+        for (int node = (int) (to - firstDay + 1); node > 0; node -= node & -node) {
+            count += rows[node];
+        }
+        for (int node = (int) (from - firstDay); node > 0; node -= node & -node) {
+            count -= rows[node];
+        }
+        return count;
+    }
+
+    private long rangeSum(long[] tree, long fromDay, long toDay) {
+        long from = Math.max(fromDay, firstDay);
+        long to = Math.min(toDay, firstDay + capacity() - 1);
+        if (from > to) {
+            return 0;
+        }
+        // Amounts are positive, so every node and prefix is at most the (non-overflowing) total
+        return prefixSum(tree, (int) (to - firstDay + 1)) - prefixSum(tree, (int) (from - firstDay));
+    }
+
+    private static long prefixSum(long[] tree, int node) {
+        long sum = 0;
+        for (; node > 0; node -= node & -node) {
+            sum += tree[node];
+        }
+        return sum;
+    }
+
+    /**
+     * Number of covered days, which sizes the index's memory.
+     */
+    int capacity() {
+        return rows.length - 1;
+    }
+
+    /**
+     * One row added (count 1) or removed (negated cents, count -1) on an epoch day.
+     */
+    record Change(long day, long cents, boolean income, int count) {
+    }
+
+    record Window(long incomeCents, long expenseCents, int rows) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.pfm.FinanceManager.analytics;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Income and expense totals per category name over a date range, as answered by the columnar
+ * store. Totals have the same values and scales as the rollup-based report path: a side with
+ * no rows is BigDecimal.ZERO, otherwise the sum carries two decimals.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PeriodTotals {
+
+    private final Map<String, BigDecimal> income;
+    private final Map<String, BigDecimal> expenses;
+    private final BigDecimal incomeTotal;
+    private final BigDecimal expenseTotal;
+
+    public BigDecimal getNetSavings() {
+        return incomeTotal.subtract(expenseTotal);
+    }
+
+    /**
+     * Arrays are indexed by category slot; slots without rows are left out of the maps.
+     * Categories sharing a name are added together, as the grouped SQL does.
+     *
+     * @throws ArithmeticException if a grand total overflows a long
+     */
+    static PeriodTotals of(String[] names, long[] incomeCents, int[] incomeRows, long[] expenseCents, int[] expenseRows) {
+        Map<String, BigDecimal> income = new HashMap<>();
+        Map<String, BigDecimal> expenses = new HashMap<>();
+        long incomeSum = 0;
+        long expenseSum = 0;
+        for (int slot = 0; slot < names.length; slot++) {
+            if (incomeRows[slot] > 0) {
+                income.merge(names[slot], BigDecimal.valueOf(incomeCents[slot], 2), BigDecimal::add);
+                incomeSum = Math.addExact(incomeSum, incomeCents[slot]);
+            }
+            if (expenseRows[slot] > 0) {
+                expenses.merge(names[slot], BigDecimal.valueOf(expenseCents[slot], 2), BigDecimal::add);
+                expenseSum = Math.addExact(expenseSum, expenseCents[slot]);
+            }
+        }
+        return new PeriodTotals(income, expenses,
+                income.isEmpty() ? BigDecimal.ZERO : BigDecimal.valueOf(incomeSum, 2),
+                expenses.isEmpty() ? BigDecimal.ZERO : BigDecimal.valueOf(expenseSum, 2));
+    }
+}
@@ -0,0 +1,326 @@
+package com.pfm.FinanceManager.analytics;
+
+import com.pfm.FinanceManager.dto.TransactionColumnRow;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.event.TransactionDelta;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's transactions as parallel primitive columns sorted by (date, id): epoch day,
+ * id, amount in cents, category slot and an income bit. Category ids and names are
+ * dictionary-encoded into slots, so a range scan touches only int/long arrays. A
+ * {@link DailyFlowIndex} over the same rows answers income/expense totals of any date range
+ * without a scan.
+ * <p>
+ * The columns are immutable. A write builds a new instance in one merge pass, so readers scan
+ * a consistent snapshot without locking; that pass copies every column, O(rows) per write.
+ * The index is not copied: it is updated in place, O(log days) per changed row, and shared
+ * with the new instance.
+ */
+final class TransactionColumns {
+
+    private final int size;
+    private final int[] days;
+    private final long[] ids;
+    private final long[] cents;
+    private final int[] categories;
+    private final BitSet income;
+    private final long[] categoryIds;
+    private final String[] categoryNames;
+    private final DailyFlowIndex flows;
+
+    private TransactionColumns(int size, int[] days, long[] ids, long[] cents, int[] categories, BitSet income,
+                               long[] categoryIds, String[] categoryNames, DailyFlowIndex flows) {
+        this.size = size;
+        this.days = days;
+        this.ids = ids;
+        this.cents = cents;
+        this.categories = categories;
+        this.income = income;
+        this.categoryIds = categoryIds;
+        this.categoryNames = categoryNames;
+        this.flows = flows;
+    }
+
+    /**
+     * Builds the columns from rows already ordered by (date, id).
+     *
+     * @return null if an amount is not a whole number of cents or the totals overflow a long;
+     * such a user stays on the SQL path
+     */
+    static TransactionColumns of(List<TransactionColumnRow> rows) {
+        int n = rows.size();
+        int[] days = new int[n];
+        long[] ids = new long[n];
+        long[] cents = new long[n];
+        int[] categories = new int[n];
+        BitSet income = new BitSet(n);
+        Map<Long, Integer> slots = new HashMap<>();
+        List<Long> categoryIds = new ArrayList<>();
+        List<String> categoryNames = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            TransactionColumnRow row = rows.get(i);
+            Long amountCents = toCents(row.getAmount());
+            if (amountCents == null) {
+                return null;
+            }
+            days[i] = (int) row.getDate().toEpochDay();
+            ids[i] = row.getId();
+            cents[i] = amountCents;
+            Integer slot = slots.get(row.getCategoryId());
+            if (slot == null) {
+                slot = categoryIds.size();
+                slots.put(row.getCategoryId(), slot);
+                categoryIds.add(row.getCategoryId());
+                categoryNames.add(row.getCategoryName());
+            }
+            categories[i] = slot;
+            if (row.getType() == TransactionType.INCOME) {
+                income.set(i);
+            }
+        }
+        DailyFlowIndex flows;
+        try {
+            flows = DailyFlowIndex.of(days, cents, income, n);
+        } catch (ArithmeticException overflow) {
+            return null;
+        }
+        return new TransactionColumns(n, days, ids, cents, categories, income,
+                categoryIds.stream().mapToLong(Long::longValue).toArray(), categoryNames.toArray(new String[0]), flows);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * The index over these rows, or null if their dates span too many days for one.
+     */
+    DailyFlowIndex flows() {
+        return flows;
+    }
+
+    /**
+     * Memory footprint in rows; a covered day of the index costs about as much as a row.
+     */
+    int weight() {
+        return size + (flows != null ? flows.capacity() : 0);
+    }
+
+    /**
+     * Per-category totals of the rows dated fromDay..toDay (epoch days, inclusive).
+     * The range is found by binary search; only the rows inside it are scanned.
+     *
+     * @throws ArithmeticException if a sum overflows a long
+     */
+    PeriodTotals totals(long fromDay, long toDay) {
+        int slots = categoryNames.length;
+        long[] incomeCents = new long[slots];
+        long[] expenseCents = new long[slots];
+        int[] incomeRows = new int[slots];
+        int[] expenseRows = new int[slots];
+
+        int end = lowerBound(toDay + 1);
+        for (int i = lowerBound(fromDay); i < end; i++) {
+            int slot = categories[i];
+            if (income.get(i)) {
+                incomeCents[slot] = Math.addExact(incomeCents[slot], cents[i]);
+                incomeRows[slot]++;
+            } else {
+                expenseCents[slot] = Math.addExact(expenseCents[slot], cents[i]);
+                expenseRows[slot]++;
+            }
+        }
+        return PeriodTotals.of(categoryNames, incomeCents, incomeRows, expenseCents, expenseRows);
+    }
+
+    /**
+     * Applies the deltas of one committed write and returns the resulting columns.
+     * Rows are matched by id, so deltas already contained in the snapshot (a load that ran
+     * after the commit) change nothing.
+     *
+     * @return null if the deltas cannot be applied exactly: rows without ids (bulk import),
+     * a category that has no rows here yet, an amount that is not whole cents, or totals that
+     * overflow a long
+     */
+    TransactionColumns apply(List<TransactionDelta> deltas) {
+        boolean[] removed = new boolean[size];
+        int[] removedRows = new int[deltas.size()];
+        int removedCount = 0;
+        List<TransactionDelta> additions = new ArrayList<>();
+        for (TransactionDelta delta : deltas) {
+            if (delta.getTransactionId() == null) {
+                return null;
+            }
+            if (delta.getCount() < 0) {
+                int index = indexOf(delta.getTransactionId(), delta.getDate().toEpochDay());
+                if (index >= 0 && !removed[index]) {
+                    removed[index] = true;
+                    removedRows[removedCount++] = index;
+                }
+            } else {
+                additions.add(delta);
+            }
+        }
+
+        List<TransactionDelta> inserts = new ArrayList<>(additions.size());
+        for (TransactionDelta delta : additions) {
+            int existing = indexOf(delta.getTransactionId(), delta.getDate().toEpochDay());
+            if (existing >= 0 && !removed[existing]) {
+                continue;
+            }
+            if (slotOf(delta.getCategoryId()) < 0 || toCents(delta.getAmount()) == null) {
+                return null;
+            }
+            inserts.add(delta);
+        }
+        if (removedCount == 0 && inserts.isEmpty()) {
+            return this;
+        }
+        inserts.sort(Comparator.comparing(TransactionDelta::getDate).thenComparing(TransactionDelta::getTransactionId));
+
+        // The index follows the rows actually removed and inserted, so replays stay no-ops
+        List<DailyFlowIndex.Change> changes = new ArrayList<>(removedCount + inserts.size());
+        for (int k = 0; k < removedCount; k++) {
+            int row = removedRows[k];
+            changes.add(new DailyFlowIndex.Change(days[row], -cents[row], income.get(row), -1));
+        }
+        for (TransactionDelta insert : inserts) {
+            changes.add(new DailyFlowIndex.Change(insert.getDate().toEpochDay(), toCents(insert.getAmount()),
+                    insert.getType() == TransactionType.INCOME, 1));
+        }
+        DailyFlowIndex newFlows = flows;
+        boolean inRange;
+        try {
+            inRange = flows != null && flows.apply(changes);
+        } catch (ArithmeticException overflow) {
+            return null;
+        }
+
+        int newSize = size - removedCount + inserts.size();
+        int[] newDays = new int[newSize];
+        long[] newIds = new long[newSize];
+        long[] newCents = new long[newSize];
+        int[] newCategories = new int[newSize];
+        BitSet newIncome = new BitSet(newSize);
+        int[] rowsPerSlot = new int[categoryNames.length];
+
+        int i = 0;
+        int j = 0;
+        for (int out = 0; out < newSize; out++) {
+            while (i < size && removed[i]) {
+                i++;
+            }
+            TransactionDelta insert = j < inserts.size() ? inserts.get(j) : null;
+            boolean takeExisting = i < size && (insert == null || compare(days[i], ids[i],
+                    insert.getDate().toEpochDay(), insert.getTransactionId()) <= 0);
+            if (takeExisting) {
+                newDays[out] = days[i];
+                newIds[out] = ids[i];
+                newCents[out] = cents[i];
+                newCategories[out] = categories[i];
+                newIncome.set(out, income.get(i));
+                i++;
+            } else {
+                newDays[out] = (int) insert.getDate().toEpochDay();
+                newIds[out] = insert.getTransactionId();
+                newCents[out] = toCents(insert.getAmount());
+                newCategories[out] = slotOf(insert.getCategoryId());
+                newIncome.set(out, insert.getType() == TransactionType.INCOME);
+                j++;
+            }
+            rowsPerSlot[newCategories[out]]++;
+        }
+        if (!inRange) {
+            // A write outside the covered days, or no index yet: rebuild it over the new rows
+            try {
+                newFlows = DailyFlowIndex.of(newDays, newCents, newIncome, newSize);
+            } catch (ArithmeticException overflow) {
+                return null;
+            }
+        }
+        return compactDictionary(newSize, newDays, newIds, newCents, newCategories, newIncome, rowsPerSlot, newFlows);
+    }
+
+    /**
+     * Drops categories that no longer have rows, so a later write to one of them (possibly
+     * renamed in the meantime without an event, as it had no transactions) forces a reload.
+     */
+    private TransactionColumns compactDictionary(int newSize, int[] newDays, long[] newIds, long[] newCents,
+                                                 int[] newCategories, BitSet newIncome, int[] rowsPerSlot,
+                                                 DailyFlowIndex newFlows) {
+        int used = 0;
+        int[] remap = new int[rowsPerSlot.length];
+        for (int slot = 0; slot < rowsPerSlot.length; slot++) {
+            remap[slot] = rowsPerSlot[slot] > 0 ? used++ : -1;
+        }
+        if (used == rowsPerSlot.length) {
+            return new TransactionColumns(newSize, newDays, newIds, newCents, newCategories, newIncome, categoryIds, categoryNames, newFlows);
+        }
+        long[] keptIds = new long[used];
+        String[] keptNames = new String[used];
+        for (int slot = 0; slot < rowsPerSlot.length; slot++) {
+            if (remap[slot] >= 0) {
+                keptIds[remap[slot]] = categoryIds[slot];
+                keptNames[remap[slot]] = categoryNames[slot];
+            }
+        }
+        for (int k = 0; k < newSize; k++) {
+            newCategories[k] = remap[newCategories[k]];
+        }
+        return new TransactionColumns(newSize, newDays, newIds, newCents, newCategories, newIncome, keptIds, keptNames, newFlows);
+    }
+
+    private int indexOf(long id, long day) {
+        for (int i = lowerBound(day); i < size && days[i] == day; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // First row dated on or after day
+    private int lowerBound(long day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slotOf(Long categoryId) {
+        for (int slot = 0; slot < categoryIds.length; slot++) {
+            if (categoryIds[slot] == categoryId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(long day, long id, long otherDay, long otherId) {
+        return day != otherDay ? Long.compare(day, otherDay) : Long.compare(id, otherId);
+    }
+
+    private static Long toCents(BigDecimal amount) {
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+}
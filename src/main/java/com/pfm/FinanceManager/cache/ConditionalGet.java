@@ -0,0 +1,23 @@
+package com.pfm.FinanceManager.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response depends only on the logged-in user's transactions,
+ * categories and goals (and today's date). Such responses carry an ETag derived from
+ * {@link UserDataVersions}, and a matching {@code If-None-Match} is answered with 304 by
+ * {@link ConditionalGetInterceptor} before the handler runs.
+ * <p>
+ * Only for collection and report endpoints scoped to the caller. A 304 skips the handler,
+ * including any ownership check on an id in the path, so never put this on a handler that
+ * loads a single entity by id.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+}
@@ -0,0 +1,70 @@
+package com.pfm.FinanceManager.cache;
+
+import com.pfm.FinanceManager.util.SessionUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Conditional GET for {@link ConditionalGet} handlers. The strong ETag is the user's data
+ * version plus today's date, since goal status depends on the date, plus a digest of the
+ * path and query, so a tag from one listing or report month never matches another. It is
+ * checked against {@code If-None-Match} before the handler runs, so a 304 costs no
+ * repository query.
+ * <p>
+ * The version is read before the handler computes the body. A write committing during the
+ * request can then only make the ETag older than the body, which costs the client one extra
+ * download, never a stale 304.
+ * <p>
+ * Versions only move on writes made by this node, so the check is off unless
+ * {@code app.cluster.single-node} is true. With several nodes every request runs the handler.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    // Clients may keep the response but must revalidate it on every use
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private final UserDataVersions versions;
+    private final SessionUtil sessionUtil;
+    private final boolean enabled;
+
+    public ConditionalGetInterceptor(UserDataVersions versions, SessionUtil sessionUtil,
+                                     @Value("${app.cluster.single-node:true}") boolean singleNode) {
+        this.versions = versions;
+        this.sessionUtil = sessionUtil;
+        this.enabled = singleNode;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(ConditionalGet.class)) {
+            return true;
+        }
+        Long userId = sessionUtil.getSessionUserId();
+        if (userId == null) {
+            // Not logged in: let the handler produce its usual error
+            return true;
+        }
+        String etag = "\"" + versions.current(userId) + "-" + LocalDate.now().toEpochDay() + "-" + resourceDigest(request) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // Sets the ETag header, and answers 304 when If-None-Match matches it
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private static String resourceDigest(HttpServletRequest request) {
+        String resource = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        return DigestUtils.md5DigestAsHex(resource.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package com.pfm.FinanceManager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
+import com.pfm.FinanceManager.dto.MonthlyReportResponse;
+import com.pfm.FinanceManager.dto.YearlyReportResponse;
+import com.pfm.FinanceManager.event.CategoryChangedEvent;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded cache of monthly and yearly reports keyed by (user, year, month); yearly reports
+ * use month 0. Writes evict only the months they touch, plus the yearly report of each of
+ * those years, once the write has committed. Hit/miss/eviction counts are published as the
+ * "reports" cache metrics.
+ * <p>
+ * Only this node's writes evict entries, so with {@code app.cluster.single-node=false} nothing
+ * is cached and every report is built by its loader.
+ */
+@Component
+public class ReportCache {
+
+    private static final int YEARLY = 0;
+
+    private final Cache<Key, Object> cache;
+    private final boolean enabled;
+
+    public ReportCache(MeterRegistry meterRegistry,
+                       @Value("${app.cache.reports.max-size:10000}") long maxSize,
+                       @Value("${app.cache.reports.ttl:10m}") Duration ttl,
+                       @Value("${app.cluster.single-node:true}") boolean singleNode) {
+        this.enabled = singleNode;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "reports");
+    }
+
+    public MonthlyReportResponse getMonthly(Long userId, int year, int month, Supplier<MonthlyReportResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (MonthlyReportResponse) cache.get(new Key(userId, year, month), key -> loader.get());
+    }
+
+    public YearlyReportResponse getYearly(Long userId, int year, Supplier<YearlyReportResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (YearlyReportResponse) cache.get(new Key(userId, year, YEARLY), key -> loader.get());
+    }
+
+    public void evictMonths(Long userId, Collection<YearMonth> months) {
+        Set<Key> keys = new HashSet<>();
+        for (YearMonth month : months) {
+            keys.add(new Key(userId, month.getYear(), month.getMonthValue()));
+            keys.add(new Key(userId, month.getYear(), YEARLY));
+        }
+        cache.invalidateAll(keys);
+    }
+
+    // Evicted after the columnar store has applied the write (a report rebuilt in between
+    // would otherwise come from the old columns) and before UserDataVersions moves on
+    @Order(ColumnarTransactionStore.LISTENER_ORDER + 1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        evictMonths(event.getUserId(), event.getDeltas().stream()
+                .map(delta -> YearMonth.from(delta.getDate()))
+                .collect(Collectors.toSet()));
+    }
+
+    @Order(ColumnarTransactionStore.LISTENER_ORDER + 1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evictMonths(event.getUserId(), event.getPeriods());
+    }
+
+    private record Key(Long userId, int year, int month) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.pfm.FinanceManager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pfm.FinanceManager.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cross-request cache of session users keyed by user ID.
+ * Hit/miss/eviction counts are published as the "sessionUsers" cache metrics.
+ */
+@Component
+public class SessionUserCache {
+
+    private final Cache<Long, User> cache;
+
+    public SessionUserCache(MeterRegistry meterRegistry,
+                            @Value("${app.cache.session-users.max-size:10000}") long maxSize,
+                            @Value("${app.cache.session-users.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sessionUsers");
+    }
+
+    /**
+     * Returns the cached user, loading it on a miss. A loader returning null caches nothing.
+     */
+    public User get(Long userId, Function<Long, User> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+}
@@ -0,0 +1,40 @@
+package com.pfm.FinanceManager.cache;
+
+import com.pfm.FinanceManager.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that drops a user from {@link SessionUserCache} whenever the row changes,
+ * so sessions never keep serving a stale or deleted user.
+ * The callbacks fire at flush, before the commit; evicting then would let a concurrent
+ * cache miss reload the old row, so the eviction is deferred until the commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    // Resolved lazily: entity listeners are created while the EntityManagerFactory is still starting
+    private final ObjectProvider<SessionUserCache> sessionUserCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        Long userId = user.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sessionUserCache.ifAvailable(cache -> cache.evict(userId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionUserCache.ifAvailable(cache -> cache.evict(userId));
+            }
+        });
+    }
+}
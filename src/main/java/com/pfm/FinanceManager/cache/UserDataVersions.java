@@ -0,0 +1,76 @@
+package com.pfm.FinanceManager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pfm.FinanceManager.event.CategoryChangedEvent;
+import com.pfm.FinanceManager.event.GoalChangedEvent;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user data version behind the conditional GETs of {@link ConditionalGetInterceptor}.
+ * Every committed transaction, category or goal write moves the user to a new version.
+ * <p>
+ * Versions come from one process-wide sequence, so a user whose entry was evicted gets a
+ * fresh, never-seen value rather than an old one, and a node restart changes the epoch.
+ * Either way a client re-downloads once instead of being told a stale copy is current.
+ * Versions are local to the node, like the report cache.
+ */
+@Component
+public class UserDataVersions {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<Long, Long> versions;
+
+    public UserDataVersions(MeterRegistry meterRegistry,
+                            @Value("${app.cache.data-versions.max-size:100000}") long maxSize) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "dataVersions");
+    }
+
+    /**
+     * Current version of the user's data, as "epoch-version".
+     */
+    public String current(Long userId) {
+        return epoch + "-" + versions.get(userId, id -> sequence.incrementAndGet());
+    }
+
+    public void bump(Long userId) {
+        versions.put(userId, sequence.incrementAndGet());
+    }
+
+    // Ordered last, so the report cache and columnar store have dropped stale data before
+    // a request can pair the new version with a response
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        bump(event.getUserId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        bump(event.getUserId());
+    }
+
+    // Goal writes commit inside the repository call, so the event may arrive outside a transaction
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGoalChanged(GoalChangedEvent event) {
+        bump(event.getUserId());
+    }
+}
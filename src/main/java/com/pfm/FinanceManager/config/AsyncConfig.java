@@ -0,0 +1,11 @@
+package com.pfm.FinanceManager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods run on Boot's applicationTaskExecutor, which uses virtual threads
+// when spring.threads.virtual.enabled is set (see application-virtual.properties)
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -1,9 +1,16 @@
 package com.pfm.FinanceManager.config;
 
 
+import com.pfm.FinanceManager.security.AuthTokenFilter;
+import com.pfm.FinanceManager.security.AuthTokenManager;
+import com.pfm.FinanceManager.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -11,33 +18,82 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthTokenManager tokens,
+                                           @Value("${app.metrics.scrape-networks:127.0.0.1/32,::1/128}") String[] scrapeNetworks) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)  // disables CSRF protection
                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable)) // allows frames like h2-console
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/**", "/h2-console/**").permitAll() // Allow register/login/logout
+                        .requestMatchers("/actuator/health").permitAll() // Probes
+                        .requestMatchers("/actuator/prometheus").access(fromNetworks(scrapeNetworks)) // Scraper hosts only
                         .anyRequest().authenticated()               // Protect others
                 )
                 .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.ALWAYS) // Enable session
+                        // Session mode keeps the user id in the HTTP session; token mode never creates one
+                        .sessionCreationPolicy(tokens.isStateless() ? SessionCreationPolicy.STATELESS : SessionCreationPolicy.ALWAYS)
                 )
-                .formLogin(Customizer.withDefaults())   // Enable for browser-based login
-                .httpBasic(Customizer.withDefaults());  // Also allow Postman/basic auth
+                .requestCache(cache -> cache.requestCache(new NullRequestCache())); // keep the session down to the "user" id
 
+        if (tokens.isStateless()) {
+            // Bearer tokens only: form login and basic auth would authenticate outside the token check
+            http
+                    .formLogin(AbstractHttpConfigurer::disable)
+                    .httpBasic(AbstractHttpConfigurer::disable)
+                    .addFilterBefore(new AuthTokenFilter(tokens), UsernamePasswordAuthenticationFilter.class);
+        } else {
+            http
+                    .formLogin(Customizer.withDefaults())   // Enable for browser-based login
+                    .httpBasic(Customizer.withDefaults());  // Also allow Postman/basic auth
+        }
         return http.build();
     }
 
+    /**
+     * Grants requests whose remote address lies in one of the given CIDR ranges. Behind a
+     * proxy that is the proxy's address unless server.forward-headers-strategy is set.
+     */
+    static AuthorizationManager<RequestAuthorizationContext> fromNetworks(String... networks) {
+        List<IpAddressMatcher> matchers = Arrays.stream(networks)
+                .map(String::trim)
+                .filter(network -> !network.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        return (authentication, context) -> new AuthorizationDecision(
+                matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
+
+    /**
+     * New hashes are stored as "{bcrypt}..." with the configured cost. Hashes written before
+     * the prefix existed are still matched as bcrypt, and login re-hashes any password whose
+     * stored hash has no prefix or a lower cost (see {@link PasswordEncoder#upgradeEncoding}).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.auth.bcrypt-strength:10}") int strength,
+                                           @Value("${app.auth.hash-threads:0}") int threads,
+                                           @Value("${app.auth.hash-queue-capacity:64}") int queueCapacity) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(encoder, poolSize, queueCapacity, meterRegistry);
     }
 }
@@ -0,0 +1,69 @@
+package com.pfm.FinanceManager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.FlushMode;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.SaveMode;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Where HTTP sessions live, chosen by {@code app.session.store}:
+ * <ul>
+ *   <li>{@code servlet} (default): Tomcat's in-memory sessions, one node only or sticky sessions</li>
+ *   <li>{@code jdbc}: the app database (V3 migration), shared by every node and kept across restarts</li>
+ *   <li>{@code memory}: Spring Session backed by a local map, for tests of the Spring Session path</li>
+ * </ul>
+ * Boot's own session auto-configuration is excluded in application.properties so that having
+ * spring-session-jdbc on the classpath does not switch the store on by itself.
+ */
+@Configuration
+public class SessionStoreConfig {
+
+    @Configuration
+    @EnableJdbcHttpSession
+    @ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc")
+    static class Jdbc {
+
+        /**
+         * Only attributes that were set are written (the session holds just the "user" id),
+         * either at the end of the request or immediately, per app.session.flush-mode.
+         */
+        @Bean
+        SessionRepositoryCustomizer<JdbcIndexedSessionRepository> jdbcSessionCustomizer(
+                @Value("${app.session.flush-mode:on-save}") String flushMode,
+                @Value("${server.servlet.session.timeout:30m}") Duration timeout) {
+            return repository -> {
+                repository.setFlushMode(flushMode(flushMode));
+                repository.setSaveMode(SaveMode.ON_SET_ATTRIBUTE);
+                repository.setDefaultMaxInactiveInterval(timeout);
+            };
+        }
+    }
+
+    @Configuration
+    @EnableSpringHttpSession
+    @ConditionalOnProperty(name = "app.session.store", havingValue = "memory")
+    static class Memory {
+
+        // Expired sessions are only dropped when looked up again; not meant for production
+        @Bean
+        MapSessionRepository sessionRepository(@Value("${server.servlet.session.timeout:30m}") Duration timeout) {
+            MapSessionRepository repository = new MapSessionRepository(new ConcurrentHashMap<>());
+            repository.setDefaultMaxInactiveInterval(timeout);
+            return repository;
+        }
+    }
+
+    static FlushMode flushMode(String value) {
+        return FlushMode.valueOf(value.trim().replace('-', '_').toUpperCase());
+    }
+}
@@ -1,5 +1,6 @@
 package com.pfm.FinanceManager.controller;
 
+import com.pfm.FinanceManager.cache.ConditionalGet;
 import com.pfm.FinanceManager.dto.CreateGoalRequest;
 import com.pfm.FinanceManager.dto.GoalResponse;
 import com.pfm.FinanceManager.dto.UpdateGoalRequest;
@@ -55,6 +56,7 @@ public class GoalController {
      * @return List of GoalResponse objects containing goal details and progress
      * @throws UnauthorizedException if no active session exists
      */
+    @ConditionalGet
     @GetMapping
     public List<GoalResponse> getAllGoals() {
         return goalService.getAllGoals();
@@ -0,0 +1,37 @@
+package com.pfm.FinanceManager.controller;
+
+import com.pfm.FinanceManager.service.LiveUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller for live updates pushed to the client as server-sent events.
+ * All endpoints are prefixed with "/api/live".
+ *
+ * @author FinanceManager Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    /**
+     * Opens an event stream for the current user. After each transaction write it carries:
+     * - "totals": per-month changes of income, expenses, net savings and transaction count
+     * - "goals": the current state of the goals whose window covers a changed date
+     *
+     * @return SseEmitter the events are written to
+     * @throws ResponseStatusException 429 if the user already has too many streams open
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return liveUpdateService.subscribe();
+    }
+}
@@ -1,6 +1,8 @@
 package com.pfm.FinanceManager.controller;
 
+import com.pfm.FinanceManager.cache.ConditionalGet;
 import com.pfm.FinanceManager.dto.MonthlyReportResponse;
+import com.pfm.FinanceManager.dto.TrendReportResponse;
 import com.pfm.FinanceManager.dto.YearlyReportResponse;
 import com.pfm.FinanceManager.service.ReportService;
 import lombok.RequiredArgsConstructor;
@@ -8,12 +10,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.YearMonth;
+
 /**
  * Controller handling financial reports generation including monthly and yearly reports.
  * All endpoints are prefixed with "/api/reports". Provides comprehensive financial
- * analysis and trend tracking.
+ * analysis and trend tracking. Reports carry an ETag and answer a matching
+ * {@code If-None-Match} with 304 (see {@link ConditionalGet}).
  *
  * @author FinanceManager Team
  * @version 1.0
@@ -37,6 +43,7 @@ public class ReportController {
      * @param month The month for the report (1-12)
      * @return ResponseEntity containing the monthly report data
      */
+    @ConditionalGet
     @GetMapping("/monthly/{year}/{month}")
     public ResponseEntity<MonthlyReportResponse> getMonthlyReport(@PathVariable int year, @PathVariable int month) {
         MonthlyReportResponse response = reportService.getMonthlyReport(year, month);
@@ -56,9 +63,29 @@ public class ReportController {
      * @throws BadRequestException if the year is invalid
      * @throws UnauthorizedException if no active session exists
      */
+    @ConditionalGet
     @GetMapping("/yearly/{year}")
     public ResponseEntity<YearlyReportResponse> getYearlyReport(@PathVariable int year) {
         YearlyReportResponse response = reportService.getYearlyReport(year);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Generates a month-by-month series of income, expenses and net savings over an
+     * arbitrary range, e.g. {@code /api/reports/trend?from=2020-01&to=2024-12}.
+     * Months without transactions are included with zero totals.
+     *
+     * @param from First month of the series (yyyy-MM)
+     * @param to Last month of the series (yyyy-MM), at most 600 months after {@code from}
+     * @param byCategory Whether each point also carries per-category income and expense totals
+     * @return ResponseEntity containing the trend series
+     */
+    @ConditionalGet
+    @GetMapping("/trend")
+    public ResponseEntity<TrendReportResponse> getTrend(@RequestParam YearMonth from,
+                                                        @RequestParam YearMonth to,
+                                                        @RequestParam(defaultValue = "false") boolean byCategory) {
+        TrendReportResponse response = reportService.getTrend(from, to, byCategory);
+        return ResponseEntity.ok(response);
+    }
 }
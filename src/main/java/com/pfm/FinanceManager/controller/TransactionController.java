@@ -1,5 +1,8 @@
 package com.pfm.FinanceManager.controller;
 
+import com.pfm.FinanceManager.cache.ConditionalGet;
+import com.pfm.FinanceManager.dto.ExportFormat;
+import com.pfm.FinanceManager.dto.ImportResultResponse;
 import com.pfm.FinanceManager.dto.TransactionRequest;
 import com.pfm.FinanceManager.dto.TransactionResponse;
 import com.pfm.FinanceManager.dto.TransactionUpdateRequest;
@@ -8,10 +11,14 @@ import com.pfm.FinanceManager.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.Reader;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +28,10 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+    static final int DEFAULT_PAGE_SIZE = 50;
+
     private final TransactionService transactionService;
 
     @PostMapping
@@ -29,27 +40,88 @@ public class TransactionController {
         return transactionService.create(request);
     }
 
+    /**
+     * Imports many transactions in one call. Valid rows are stored; invalid rows are skipped
+     * and reported with their 1-based position and the reason.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportResultResponse importJson(Reader body) {
+        return transactionService.importJson(body);
+    }
+
+    /**
+     * CSV variant of the bulk import; columns are {@code date,amount,category,description}.
+     */
+    @PostMapping(value = "/import", consumes = CSV)
+    public ImportResultResponse importCsv(Reader body) {
+        return transactionService.importCsv(body);
+    }
+
+    /**
+     * Lists transactions. With a date range or category the filtered list is returned;
+     * otherwise passing {@code cursor} and/or {@code limit} switches to keyset pagination
+     * (newest first) and the response carries a {@code nextCursor} for the following page.
+     * Responses carry an ETag; a matching {@code If-None-Match} is answered with 304.
+     */
+    @ConditionalGet
     @GetMapping
-    public Map<String, List<TransactionResponse>> getAll(
+    public ResponseEntity<?> getAll(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         List<TransactionResponse> transactions;
         if (startDate != null && endDate != null) {
             transactions = transactionService.getByDateRange(startDate, endDate);
         } else if (category != null) {
             transactions = transactionService.getByCategory(category);
+        } else if (cursor != null || limit != null) {
+            return ResponseEntity.ok(transactionService.getPage(cursor, limit != null ? limit : DEFAULT_PAGE_SIZE));
         } else {
             transactions = transactionService.getAllSortedByDate();
         }
-        return Map.of("transactions", transactions);
+        return ResponseEntity.ok(Map.of("transactions", transactions));
+    }
+
+    /**
+     * Streams every transaction, newest first, as newline-delimited JSON. This is the
+     * unfiltered NDJSON export: rows come from a forward-only JDBC cursor while the response
+     * is written, and no JPA transaction is held open while the client reads.
+     */
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = transactionService.export(ExportFormat.NDJSON, null, null, null, null);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Downloads the user's transactions as CSV (default) or NDJSON, optionally filtered by
+     * date range, type and category. The body is streamed, never buffered in full.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String category) {
+        StreamingResponseBody body = transactionService.export(format, startDate, endDate, type, category);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + format.getFileExtension() + "\"")
+                .body(body);
     }
 
+    @ConditionalGet
     @GetMapping("/filter/type/{type}")
     public List<TransactionResponse> getByType(@PathVariable TransactionType type) {
         return transactionService.getByType(type);
     }
 
+    @ConditionalGet
     @GetMapping("/filter/date-type")
     public List<TransactionResponse> getByDateRangeAndType(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
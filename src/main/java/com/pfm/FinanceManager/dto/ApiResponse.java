@@ -1,5 +1,6 @@
 package com.pfm.FinanceManager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 @Data
@@ -8,5 +9,13 @@ import lombok.*;
 public class ApiResponse {
     private String message;
     private Long userId;
+
+    // Bearer token, only returned by login in token mode
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String token;
+
+    public ApiResponse(String message, Long userId) {
+        this(message, userId, null);
+    }
 }
 
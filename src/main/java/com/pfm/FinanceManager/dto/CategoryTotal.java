@@ -0,0 +1,14 @@
+package com.pfm.FinanceManager.dto;
+
+import com.pfm.FinanceManager.entity.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of a grouped SUM over transactions: one row per category name and type.
+ */
+public interface CategoryTotal {
+    String getCategoryName();
+    TransactionType getType();
+    BigDecimal getTotal();
+}
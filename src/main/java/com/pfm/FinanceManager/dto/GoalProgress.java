@@ -0,0 +1,12 @@
+package com.pfm.FinanceManager.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of income and expense sums inside one savings goal's [startDate, targetDate] window.
+ */
+public interface GoalProgress {
+    Long getGoalId();
+    BigDecimal getIncome();
+    BigDecimal getExpense();
+}
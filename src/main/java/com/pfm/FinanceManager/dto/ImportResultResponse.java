@@ -0,0 +1,23 @@
+package com.pfm.FinanceManager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResultResponse {
+
+    @Getter
+    @Setter
+    private int imported;
+
+    @Getter
+    @Setter
+    private int failed;
+
+    @Getter
+    @Setter
+    private List<ImportRowError> errors;
+}
@@ -0,0 +1,20 @@
+package com.pfm.FinanceManager.dto;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowError {
+
+    /**
+     * 1-based position of the record in the submitted array or CSV body (header excluded).
+     */
+    @Getter
+    @Setter
+    private int row;
+
+    @Getter
+    @Setter
+    private String message;
+}
@@ -0,0 +1,39 @@
+package com.pfm.FinanceManager.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * How one month's totals changed with a committed write; clients add the values to the
+ * totals they already show. {@code transactions} is the change in the month's row count.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyTotalsChange {
+
+    @Getter
+    @Setter
+    private int year;
+
+    @Getter
+    @Setter
+    private int month;
+
+    @Getter
+    @Setter
+    private BigDecimal income;
+
+    @Getter
+    @Setter
+    private BigDecimal expenses;
+
+    @Getter
+    @Setter
+    private BigDecimal netSavings;
+
+    @Getter
+    @Setter
+    private int transactions;
+}
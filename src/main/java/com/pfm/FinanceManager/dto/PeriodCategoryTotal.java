@@ -0,0 +1,16 @@
+package com.pfm.FinanceManager.dto;
+
+import com.pfm.FinanceManager.entity.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of one grouped rollup row: a category's total for one month.
+ */
+public interface PeriodCategoryTotal {
+    Integer getPeriodYear();
+    Integer getPeriodMonth();
+    String getCategoryName();
+    TransactionType getType();
+    BigDecimal getTotal();
+}
@@ -0,0 +1,9 @@
+package com.pfm.FinanceManager.dto;
+
+/**
+ * Projection of one (year, month) that has rows in the monthly rollup.
+ */
+public interface RollupPeriod {
+    Integer getPeriodYear();
+    Integer getPeriodMonth();
+}
@@ -0,0 +1,18 @@
+package com.pfm.FinanceManager.dto;
+
+import com.pfm.FinanceManager.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection of the transaction fields the in-memory columnar store keeps, one row per transaction.
+ */
+public interface TransactionColumnRow {
+    Long getId();
+    LocalDate getDate();
+    BigDecimal getAmount();
+    Long getCategoryId();
+    String getCategoryName();
+    TransactionType getType();
+}
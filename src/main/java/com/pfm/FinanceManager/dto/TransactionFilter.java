@@ -0,0 +1,20 @@
+package com.pfm.FinanceManager.dto;
+
+import com.pfm.FinanceManager.entity.TransactionType;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria for exporting a user's transactions; null fields are not applied.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionFilter {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private TransactionType type;
+    private Long categoryId;
+}
@@ -0,0 +1,22 @@
+package com.pfm.FinanceManager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionPageResponse {
+
+    @Getter
+    @Setter
+    private List<TransactionResponse> transactions;
+
+    /**
+     * Opaque cursor for the next page, or null when this is the last page.
+     */
+    @Getter
+    @Setter
+    private String nextCursor;
+}
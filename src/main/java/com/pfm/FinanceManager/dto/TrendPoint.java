@@ -0,0 +1,43 @@
+package com.pfm.FinanceManager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrendPoint {
+
+    @Getter
+    @Setter
+    private int year;
+
+    @Getter
+    @Setter
+    private int month;
+
+    @Getter
+    @Setter
+    private BigDecimal income;
+
+    @Getter
+    @Setter
+    private BigDecimal expenses;
+
+    @Getter
+    @Setter
+    private BigDecimal netSavings;
+
+    // Only filled when the trend is requested per category
+    @Getter
+    @Setter
+    private Map<String, BigDecimal> incomeByCategory;
+
+    @Getter
+    @Setter
+    private Map<String, BigDecimal> expensesByCategory;
+}
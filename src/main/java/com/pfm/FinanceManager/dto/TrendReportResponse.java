@@ -0,0 +1,25 @@
+package com.pfm.FinanceManager.dto;
+
+import lombok.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendReportResponse {
+
+    @Getter
+    @Setter
+    private YearMonth from;
+
+    @Getter
+    @Setter
+    private YearMonth to;
+
+    // One point per month in [from, to], months without transactions included as zero
+    @Getter
+    @Setter
+    private List<TrendPoint> points;
+}
@@ -7,7 +7,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_user_date", columnList = "user_id, date"),
+    @Index(name = "idx_transactions_user_category_date", columnList = "user_id, category_id, date"),
+    @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,6 @@
 package com.pfm.FinanceManager.entity;
 
+import com.pfm.FinanceManager.cache.UserCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,6 +13,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(UserCacheEvictionListener.class)
 public class User {
 
     @Id
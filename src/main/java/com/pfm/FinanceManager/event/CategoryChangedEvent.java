@@ -0,0 +1,21 @@
+package com.pfm.FinanceManager.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Published by CategoryService when a change to a category alters report output
+ * (name or type). {@code periods} are the months that have rollup rows for the category.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CategoryChangedEvent {
+    private final Long userId;
+    private final Long categoryId;
+    private final List<YearMonth> periods;
+}
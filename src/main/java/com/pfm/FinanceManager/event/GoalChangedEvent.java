@@ -0,0 +1,16 @@
+package com.pfm.FinanceManager.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by SavingsGoalService when a goal is created, updated or deleted.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class GoalChangedEvent {
+    private final Long userId;
+    private final Long goalId;
+}
@@ -0,0 +1,20 @@
+package com.pfm.FinanceManager.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published by TransactionService inside the writing transaction. Listeners that derive
+ * state from transactions should use {@code @TransactionalEventListener} so they only see
+ * committed changes.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class TransactionChangedEvent {
+    private final Long userId;
+    private final List<TransactionDelta> deltas;
+}
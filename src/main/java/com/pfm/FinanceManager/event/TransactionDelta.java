@@ -0,0 +1,39 @@
+package com.pfm.FinanceManager.event;
+
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One signed change to a user's transactions: count +1 with the amount for an added row,
+ * count -1 with the negated amount for a removed one. An update is a removal of the old
+ * values followed by an addition of the new ones.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TransactionDelta {
+
+    /** Null for rows written by bulk import, whose generated ids are not read back. */
+    private final Long transactionId;
+    private final LocalDate date;
+    private final Long categoryId;
+    private final TransactionType type;
+    private final BigDecimal amount;
+    private final int count;
+
+    public static TransactionDelta added(Transaction transaction) {
+        return new TransactionDelta(transaction.getId(), transaction.getDate(), transaction.getCategory().getId(),
+                transaction.getType(), transaction.getAmount(), 1);
+    }
+
+    public static TransactionDelta removed(Transaction transaction) {
+        return new TransactionDelta(transaction.getId(), transaction.getDate(), transaction.getCategory().getId(),
+                transaction.getType(), transaction.getAmount().negate(), -1);
+    }
+}
@@ -0,0 +1,48 @@
+package com.pfm.FinanceManager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps roughly one in {@code infoSampleRate} INFO events (and one in {@code debugSampleRate}
+ * DEBUG events) from loggers under {@code loggerPrefix}; WARN and ERROR always pass.
+ * As a turbo filter it runs before the event is created, so a dropped line costs neither the
+ * message formatting nor a slot in the async queue. Configured in logback-spring.xml.
+ */
+public class LevelSamplingTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "";
+    private int infoSampleRate = 1;
+    private int debugSampleRate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks, which must not be sampled
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        int rate = level == Level.INFO ? infoSampleRate : level == Level.DEBUG ? debugSampleRate : 1;
+        if (rate <= 1 || ThreadLocalRandom.current().nextInt(rate) == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setInfoSampleRate(int infoSampleRate) {
+        this.infoSampleRate = infoSampleRate;
+    }
+
+    public void setDebugSampleRate(int debugSampleRate) {
+        this.debugSampleRate = debugSampleRate;
+    }
+}
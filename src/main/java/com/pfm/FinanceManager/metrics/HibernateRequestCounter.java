@@ -0,0 +1,25 @@
+package com.pfm.FinanceManager.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Session-factory wide hook that feeds {@link RequestMetrics}: every SQL string Hibernate
+ * prepares passes through {@link #inspect}, every entity it hydrates through {@link #onLoad}.
+ * Statements issued through JdbcTemplate (bulk import, export) bypass Hibernate and are not counted.
+ */
+public class HibernateRequestCounter implements StatementInspector, Interceptor {
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics.statementPrepared();
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestMetrics.entityLoaded();
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.pfm.FinanceManager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records per-request Hibernate statement and entity-load counts as distribution summaries
+ * tagged with the HTTP method and the matched URI pattern, so an endpoint that loads too
+ * many rows stands out in {@code pfm_request_entities_loaded} / {@code pfm_request_statements}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS = "pfm.request.statements";
+    static final String ENTITIES_LOADED = "pfm.request.entities.loaded";
+
+    private final MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestMetrics.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestMetrics metrics = RequestMetrics.finish();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Unmatched paths share one tag value to keep the series count bounded
+            Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+            summary(STATEMENTS, "SQL statements prepared by Hibernate per request", tags)
+                    .record(metrics.getStatements());
+            summary(ENTITIES_LOADED, "Entities loaded by Hibernate per request", tags)
+                    .record(metrics.getEntitiesLoaded());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.pfm.FinanceManager.repository;
+
+import com.pfm.FinanceManager.dto.CategoryTotal;
+import com.pfm.FinanceManager.dto.PeriodCategoryTotal;
+import com.pfm.FinanceManager.dto.RollupPeriod;
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.MonthlyCategoryTotal;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, Long>, MonthlyCategoryTotalRepositoryCustom {
+
+    @Modifying
+    @Query("UPDATE MonthlyCategoryTotal m SET m.total = m.total + ?6, m.transactionCount = m.transactionCount + ?7 " +
+            "WHERE m.user = ?1 AND m.year = ?2 AND m.month = ?3 AND m.category = ?4 AND m.type = ?5")
+    int addToTotal(User user, int year, int month, Category category, TransactionType type, BigDecimal amount, long count);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategoryTotal m " +
+            "WHERE m.user = ?1 AND m.year = ?2 AND m.month = ?3 AND m.category = ?4 AND m.type = ?5 AND m.transactionCount <= 0")
+    int deleteIfEmpty(User user, int year, int month, Category category, TransactionType type);
+
+    @Query("SELECT c.name AS categoryName, m.type AS type, SUM(m.total) AS total " +
+            "FROM MonthlyCategoryTotal m JOIN m.category c " +
+            "WHERE m.user = ?1 AND m.year = ?2 AND m.month BETWEEN ?3 AND ?4 " +
+            "GROUP BY c.name, m.type")
+    List<CategoryTotal> sumByCategoryAndType(User user, int year, int fromMonth, int toMonth);
+
+    // Months are compared as year * 100 + month so a range can span years; the year bounds keep the index range tight
+    @Query("SELECT m.year AS periodYear, m.month AS periodMonth, c.name AS categoryName, m.type AS type, SUM(m.total) AS total " +
+            "FROM MonthlyCategoryTotal m JOIN m.category c " +
+            "WHERE m.user = ?1 AND m.year BETWEEN ?2 AND ?3 AND m.year * 100 + m.month BETWEEN ?4 AND ?5 " +
+            "GROUP BY m.year, m.month, c.name, m.type " +
+            "ORDER BY m.year, m.month")
+    List<PeriodCategoryTotal> sumByMonthCategoryAndType(User user, int fromYear, int toYear, int fromPeriod, int toPeriod);
+
+    @Query("SELECT DISTINCT m.year AS periodYear, m.month AS periodMonth FROM MonthlyCategoryTotal m WHERE m.category = ?1")
+    List<RollupPeriod> findPeriodsByCategory(Category category);
+}
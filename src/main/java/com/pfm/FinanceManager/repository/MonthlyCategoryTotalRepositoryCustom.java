@@ -0,0 +1,16 @@
+package com.pfm.FinanceManager.repository;
+
+import com.pfm.FinanceManager.entity.TransactionType;
+
+import java.math.BigDecimal;
+
+public interface MonthlyCategoryTotalRepositoryCustom {
+
+    /**
+     * Inserts a rollup row unless one with the same (user, period, category, type) key exists.
+     *
+     * @return false if the key was taken, e.g. by a concurrent first write; the surrounding
+     * transaction is unaffected and can go on to update that row
+     */
+    boolean insertTotal(Long userId, int year, int month, Long categoryId, TransactionType type, BigDecimal total, long count);
+}
@@ -0,0 +1,54 @@
+package com.pfm.FinanceManager.repository;
+
+import com.pfm.FinanceManager.entity.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Plain JDBC insert of a rollup row under a savepoint. A unique-key violation rolls back to
+ * the savepoint only, so the caller's transaction stays usable on every database (some abort
+ * the whole transaction on a failed statement). Going through JPA instead would mark the
+ * transaction rollback-only.
+ */
+@RequiredArgsConstructor
+public class MonthlyCategoryTotalRepositoryCustomImpl implements MonthlyCategoryTotalRepositoryCustom {
+
+    static final String INSERT_SQL = "INSERT INTO monthly_category_totals " +
+            "(user_id, period_year, period_month, category_id, type, total, transaction_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean insertTotal(Long userId, int year, int month, Long categoryId, TransactionType type,
+                               BigDecimal total, long count) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                statement.setLong(1, userId);
+                statement.setInt(2, year);
+                statement.setInt(3, month);
+                statement.setLong(4, categoryId);
+                statement.setString(5, type.name());
+                statement.setBigDecimal(6, total);
+                statement.setLong(7, count);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (jdbcTemplate.getExceptionTranslator().translate("insertTotal", INSERT_SQL, e) instanceof DuplicateKeyException) {
+                    return false;
+                }
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        }));
+    }
+}
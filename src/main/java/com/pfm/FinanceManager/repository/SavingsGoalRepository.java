@@ -1,11 +1,44 @@
 package com.pfm.FinanceManager.repository;
 
+import com.pfm.FinanceManager.dto.GoalProgress;
 import com.pfm.FinanceManager.entity.SavingsGoal;
 import com.pfm.FinanceManager.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface SavingsGoalRepository extends JpaRepository<SavingsGoal, Long> {
+
+    // Income/expense per goal window, summed in one grouped query over the (user_id, date) index
+    String PROGRESS_QUERY = "SELECT g.id AS goalId, " +
+            "COALESCE(SUM(CASE WHEN t.type = com.pfm.FinanceManager.entity.TransactionType.INCOME THEN t.amount ELSE 0 END), 0) AS income, " +
+            "COALESCE(SUM(CASE WHEN t.type = com.pfm.FinanceManager.entity.TransactionType.EXPENSE THEN t.amount ELSE 0 END), 0) AS expense " +
+            "FROM SavingsGoal g LEFT JOIN Transaction t " +
+            "ON t.user = g.user AND t.date >= g.startDate AND t.date <= g.targetDate ";
+
     List<SavingsGoal> findByUser(User user);
+
+    List<SavingsGoal> findByUserId(Long userId);
+
+    List<SavingsGoal> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query(PROGRESS_QUERY + "WHERE g.user = ?1 GROUP BY g.id")
+    List<GoalProgress> findProgressByUser(User user);
+
+    @Query(PROGRESS_QUERY + "WHERE g = ?1 GROUP BY g.id")
+    Optional<GoalProgress> findProgressByGoal(SavingsGoal goal);
+
+    @Query(PROGRESS_QUERY + "WHERE g.id IN ?1 GROUP BY g.id")
+    List<GoalProgress> findProgressByGoalIds(Collection<Long> goalIds);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SavingsGoal g SET g.status = ?2 WHERE g.id IN ?1 AND g.status <> ?2")
+    int updateStatus(Collection<Long> goalIds, SavingsGoal.GoalStatus status);
 }
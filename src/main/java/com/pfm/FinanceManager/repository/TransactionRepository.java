@@ -1,24 +1,54 @@
 package com.pfm.FinanceManager.repository;
 
+import com.pfm.FinanceManager.dto.TransactionColumnRow;
 import com.pfm.FinanceManager.entity.Category;
 import com.pfm.FinanceManager.entity.Transaction;
 import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
 
+    // Listing queries fetch the category in the same statement; callers always map its name
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUser(User user);
-    List<Transaction> findByUserAndDateGreaterThanEqual(User user, LocalDate date);
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findAllByUserAndDateBetween(User user, LocalDate start, LocalDate end);
 
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUserOrderByDateDesc(User user);
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUserAndCategory(User user, Category category);
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUserAndType(User user, TransactionType type);
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUserAndDateBetweenAndType(User user, LocalDate start, LocalDate end, TransactionType type);
 
+    // Keyset pagination over (date, id), newest first
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category " +
+            "WHERE t.user = ?1 ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findFirstPage(User user, Pageable limit);
+
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category " +
+            "WHERE t.user = ?1 AND (t.date < ?2 OR (t.date = ?2 AND t.id < ?3)) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findPageAfter(User user, LocalDate date, Long id, Pageable limit);
+
+    // Everything the columnar store needs in one scan, oldest first (its sort order)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.date AS date, t.amount AS amount, c.id AS categoryId, c.name AS categoryName, t.type AS type " +
+            "FROM Transaction t JOIN t.category c " +
+            "WHERE t.user.id = ?1 ORDER BY t.date, t.id")
+    List<TransactionColumnRow> findColumnRowsByUserId(Long userId);
+
 }
 
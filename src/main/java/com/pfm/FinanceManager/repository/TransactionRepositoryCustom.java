@@ -0,0 +1,10 @@
+package com.pfm.FinanceManager.repository;
+
+import com.pfm.FinanceManager.dto.TransactionFilter;
+import com.pfm.FinanceManager.dto.TransactionResponse;
+
+import java.util.function.Consumer;
+
+public interface TransactionRepositoryCustom {
+    void streamForExport(Long userId, TransactionFilter filter, Consumer<TransactionResponse> sink);
+}
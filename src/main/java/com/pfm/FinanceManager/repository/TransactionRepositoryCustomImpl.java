@@ -0,0 +1,75 @@
+package com.pfm.FinanceManager.repository;
+
+import com.pfm.FinanceManager.dto.TransactionFilter;
+import com.pfm.FinanceManager.dto.TransactionResponse;
+import com.pfm.FinanceManager.entity.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC read path for exports. Rows are handed to the sink one at a time from a
+ * forward-only, read-only result set, outside any JPA persistence context, so neither the
+ * heap nor a database transaction grows with the size of the export.
+ */
+@RequiredArgsConstructor
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    static final int EXPORT_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void streamForExport(Long userId, TransactionFilter filter, Consumer<TransactionResponse> sink) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT t.id, t.amount, t.date, c.name AS category, t.description, t.type " +
+                "FROM transactions t JOIN categories c ON c.id = t.category_id " +
+                "WHERE t.user_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (filter.getStartDate() != null) {
+            sql.append(" AND t.date >= ?");
+            args.add(filter.getStartDate());
+        }
+        if (filter.getEndDate() != null) {
+            sql.append(" AND t.date <= ?");
+            args.add(filter.getEndDate());
+        }
+        if (filter.getType() != null) {
+            sql.append(" AND t.type = ?");
+            args.add(filter.getType().name());
+        }
+        if (filter.getCategoryId() != null) {
+            sql.append(" AND t.category_id = ?");
+            args.add(filter.getCategoryId());
+        }
+        sql.append(" ORDER BY t.date DESC, t.id DESC");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            String type = rs.getString("type");
+            sink.accept(TransactionResponse.builder()
+                    .id(rs.getLong("id"))
+                    .amount(rs.getBigDecimal("amount"))
+                    .date(rs.getObject("date", LocalDate.class))
+                    .category(rs.getString("category"))
+                    .description(rs.getString("description"))
+                    .type(type != null ? TransactionType.valueOf(type) : null)
+                    .build());
+        });
+    }
+}
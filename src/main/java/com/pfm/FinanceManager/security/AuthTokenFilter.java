@@ -0,0 +1,44 @@
+package com.pfm.FinanceManager.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Token mode only: verifies the {@code Authorization: Bearer} token once per request and
+ * exposes the user id and the token's expiry as request attributes for
+ * {@link com.pfm.FinanceManager.util.SessionUtil}.
+ * Requests without a valid token pass through unauthenticated; endpoints that need a user
+ * reject them the same way they reject a missing session.
+ */
+@RequiredArgsConstructor
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_ATTRIBUTE = AuthTokenFilter.class.getName() + ".userId";
+    public static final String EXPIRES_AT_ATTRIBUTE = AuthTokenFilter.class.getName() + ".expiresAt";
+
+    private static final String BEARER = "Bearer ";
+
+    private final AuthTokenManager tokens;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            String token = header.substring(BEARER.length()).trim();
+            Long userId = tokens.verify(token);
+            if (userId != null) {
+                request.setAttribute(USER_ID_ATTRIBUTE, userId);
+                request.setAttribute(EXPIRES_AT_ATTRIBUTE, tokens.expiresAt(token));
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,131 @@
+package com.pfm.FinanceManager.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and verifies the signed tokens used when {@code app.auth.mode=token}.
+ * A token is {@code base64url(userId.expiresAtEpochSecond).base64url(HMAC-SHA256)}, so it is
+ * checked with the shared secret alone: no session, no token store and no database lookup.
+ * Every instance behind the load balancer must be given the same {@code app.auth.token-secret}.
+ */
+@Component
+public class AuthTokenManager {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean stateless;
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public AuthTokenManager(@Value("${app.auth.mode:session}") String mode,
+                            @Value("${app.auth.token-secret:}") String secret,
+                            @Value("${app.auth.token-ttl:30m}") Duration ttl) {
+        this.stateless = "token".equalsIgnoreCase(mode);
+        this.ttl = ttl;
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            if (stateless) {
+                // A per-instance random key would reject tokens issued by other nodes or before a restart
+                throw new IllegalStateException("app.auth.token-secret must be set when app.auth.mode=token");
+            }
+            // Session mode issues no tokens; the key only has to exist
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            try {
+                keyBytes = Base64.getDecoder().decode(secret.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("app.auth.token-secret must be base64 encoded", e);
+            }
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("app.auth.token-secret must be at least 32 bytes (base64 encoded)");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /** True when requests authenticate with a bearer token instead of the HTTP session. */
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    /** User id verified by {@link AuthTokenFilter} for the current request, or null. */
+    public Long currentUserId() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request == null ? null
+                : (Long) request.getAttribute(AuthTokenFilter.USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /** Expiry of the token verified by {@link AuthTokenFilter} for the current request, or null. */
+    public Instant currentExpiry() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request == null ? null
+                : (Instant) request.getAttribute(AuthTokenFilter.EXPIRES_AT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public String issue(Long userId) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        byte[] payload = (userId + "." + expiresAt).getBytes(StandardCharsets.US_ASCII);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Returns the user id carried by a valid, unexpired token, or null for anything else.
+     */
+    public Long verify(String token) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+            String claims = new String(payload, StandardCharsets.US_ASCII);
+            int separator = claims.indexOf('.');
+            long expiresAt = Long.parseLong(claims.substring(separator + 1));
+            if (Instant.now().getEpochSecond() >= expiresAt) {
+                return null;
+            }
+            return Long.valueOf(claims.substring(0, separator));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Expiry carried by a token that {@link #verify} accepted.
+     */
+    public Instant expiresAt(String token) {
+        String claims = new String(DECODER.decode(token.substring(0, token.indexOf('.'))), StandardCharsets.US_ASCII);
+        return Instant.ofEpochSecond(Long.parseLong(claims.substring(claims.indexOf('.') + 1)));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac is not thread-safe; a fresh instance is cheap next to the request itself
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.pfm.FinanceManager.service;
+
+/**
+ * Keeps the stored savings goal status in step with transactions and the calendar.
+ * Goal reads derive status on the fly and never write it.
+ */
+public interface GoalStatusService {
+
+    /**
+     * Re-evaluates every goal in id order, in batches. Runs on a schedule so date-driven
+     * transitions such as IN_PROGRESS to OVERDUE are persisted without any transaction write.
+     *
+     * @return number of goals whose stored status changed
+     */
+    int evaluateAll();
+
+    /**
+     * @return number of the user's goals whose stored status changed
+     */
+    int evaluateForUser(Long userId);
+}
@@ -0,0 +1,19 @@
+package com.pfm.FinanceManager.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LiveUpdateService {
+
+    /**
+     * Opens a server-sent event stream for the logged-in user. After each committed
+     * transaction write it carries a "totals" event (List of MonthlyTotalsChange) and, if
+     * goals are affected, a "goals" event (List of GoalResponse). The stream ends no later
+     * than the login it was opened with.
+     */
+    SseEmitter subscribe();
+
+    /**
+     * Completes every stream of the user on this node, e.g. on logout.
+     */
+    void closeAll(Long userId);
+}
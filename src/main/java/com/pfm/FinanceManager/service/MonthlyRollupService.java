@@ -0,0 +1,15 @@
+package com.pfm.FinanceManager.service;
+
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public interface MonthlyRollupService {
+    void record(Transaction transaction);
+    void reverse(Transaction transaction);
+    void recordTotals(User user, YearMonth period, Category category, TransactionType type, BigDecimal amount, long count);
+}
@@ -1,9 +1,13 @@
 package com.pfm.FinanceManager.service;
 
 import com.pfm.FinanceManager.dto.MonthlyReportResponse;
+import com.pfm.FinanceManager.dto.TrendReportResponse;
 import com.pfm.FinanceManager.dto.YearlyReportResponse;
 
+import java.time.YearMonth;
+
 public interface ReportService {
     MonthlyReportResponse getMonthlyReport(int year, int month);
     YearlyReportResponse getYearlyReport(int year);
+    TrendReportResponse getTrend(YearMonth from, YearMonth to, boolean byCategory);
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import com.pfm.FinanceManager.dto.UpdateGoalRequest;
 import com.pfm.FinanceManager.entity.SavingsGoal;
 import com.pfm.FinanceManager.entity.User;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface SavingsGoalService {
@@ -14,5 +16,11 @@ public interface SavingsGoalService {
     GoalResponse getGoalById(Long id);
     SavingsGoal updateGoal(Long id, UpdateGoalRequest request);
     String deleteGoal(Long id);
+
+    /**
+     * Goals of the given user whose [startDate, targetDate] window contains any of the dates,
+     * with current progress. Needs no session, for use after a write has committed.
+     */
+    List<GoalResponse> getGoalsCovering(Long userId, Collection<LocalDate> dates);
 }
 
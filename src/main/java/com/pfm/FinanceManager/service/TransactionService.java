@@ -1,17 +1,26 @@
 package com.pfm.FinanceManager.service;
 
+import com.pfm.FinanceManager.dto.ExportFormat;
+import com.pfm.FinanceManager.dto.ImportResultResponse;
+import com.pfm.FinanceManager.dto.TransactionPageResponse;
 import com.pfm.FinanceManager.dto.TransactionRequest;
 import com.pfm.FinanceManager.dto.TransactionResponse;
 import com.pfm.FinanceManager.dto.TransactionUpdateRequest;
 import com.pfm.FinanceManager.entity.TransactionType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.Reader;
 import java.time.LocalDate;
 import java.util.List;
 
 public interface TransactionService {
     TransactionResponse create(TransactionRequest request);
+    ImportResultResponse importJson(Reader json);
+    ImportResultResponse importCsv(Reader csv);
     List<TransactionResponse> getAll();
     List<TransactionResponse> getAllSortedByDate();
+    TransactionPageResponse getPage(String cursor, int limit);
+    StreamingResponseBody export(ExportFormat format, LocalDate start, LocalDate end, TransactionType type, String category);
     List<TransactionResponse> getByDateRange(LocalDate start, LocalDate end);
     List<TransactionResponse> getByType(TransactionType type);
     List<TransactionResponse> getByCategory(String category);
@@ -4,7 +4,10 @@ package com.pfm.FinanceManager.service.impl;
 import com.pfm.FinanceManager.dto.*;
 import com.pfm.FinanceManager.entity.User;
 import com.pfm.FinanceManager.repository.UserRepository;
+import com.pfm.FinanceManager.security.AuthTokenManager;
 import com.pfm.FinanceManager.service.AuthService;
+import com.pfm.FinanceManager.service.LiveUpdateService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,12 +16,15 @@ import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
+@Timed(value = "pfm.service", histogram = true)
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final HttpSession session;
+    private final AuthTokenManager tokens;
+    private final LiveUpdateService liveUpdates;
 
     @Override
     public ApiResponse register(RegisterRequest request){
@@ -48,7 +54,8 @@ public class AuthServiceImpl implements AuthService {
     public ApiResponse login(LoginRequest request) {
         log.info("Login attempt for username: {}", request.getUsername());
 
-        Object userId = session.getAttribute("user");
+        // Tokens cannot be revoked, so in token mode a new login is always allowed
+        Object userId = tokens.isStateless() ? null : session.getAttribute("user");
         if(userId != null) {
             log.warn("Logout current session to login again");
             throw new RuntimeException("Logout current session to login again");
@@ -63,7 +70,17 @@ public class AuthServiceImpl implements AuthService {
             log.error("Login failed - invalid password for username: {}", request.getUsername());
             throw new RuntimeException("Invalid Credentials");
         }
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            // Stored with an older scheme or a lower cost; the raw password is only available now
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            userRepository.save(user);
+            log.info("Password hash upgraded for user id: {}", user.getId());
+        }
 
+        if (tokens.isStateless()) {
+            log.info("Login successful for username: {}, token issued", request.getUsername());
+            return new ApiResponse("Login successful", user.getId(), tokens.issue(user.getId()));
+        }
         session.setAttribute("user", user.getId()); // Save user session
         log.info("Login successful for username: {}", request.getUsername());
         return new ApiResponse("Login successful", user.getId());
@@ -71,9 +88,21 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public ApiResponse logout() {
+        if (tokens.isStateless()) {
+            // Nothing is stored server-side; the client discards the token, which expires on its own
+            Long userId = tokens.currentUserId();
+            if (userId != null) {
+                liveUpdates.closeAll(userId);
+                log.info("Logout successful for user id: {}", userId);
+                return new ApiResponse("Logout successful", null);
+            }
+            log.warn("Logout attempted without a valid token");
+            throw new RuntimeException("No active session");
+        }
         Object userId = session.getAttribute("user");
         if(userId != null) {
             session.invalidate();
+            liveUpdates.closeAll((Long) userId);
             log.info("Logout successful for user id: {}", userId);
             return new ApiResponse("Logout successful", null);
         }
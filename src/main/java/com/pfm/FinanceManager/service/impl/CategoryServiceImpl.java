@@ -5,25 +5,33 @@ import com.pfm.FinanceManager.dto.CategoryResponse;
 import com.pfm.FinanceManager.entity.Category;
 import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.event.CategoryChangedEvent;
 import com.pfm.FinanceManager.repository.CategoryRepository;
+import com.pfm.FinanceManager.repository.MonthlyCategoryTotalRepository;
 import com.pfm.FinanceManager.service.CategoryService;
 import com.pfm.FinanceManager.util.DefaultCategoryUtil;
 import com.pfm.FinanceManager.util.SessionUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.YearMonth;
 import java.util.List;
 
 @Slf4j
 @Service
+@Timed(value = "pfm.service", histogram = true)
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepo;
     private final SessionUtil sessionUtil;
     private final DefaultCategoryUtil defaultCategoryUtil;
+    private final MonthlyCategoryTotalRepository rollupRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -105,11 +113,22 @@ public class CategoryServiceImpl implements CategoryService {
                     }
                 });
 
+        // Reports show the category name and type; a description change leaves them as they are
+        boolean reportsAffected = !category.getName().equals(request.getName()) || category.getType() != request.getType();
+
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setType(request.getType());
 
         Category updated = categoryRepo.save(category);
+        if (reportsAffected) {
+            List<YearMonth> periods = rollupRepo.findPeriodsByCategory(updated).stream()
+                    .map(period -> YearMonth.of(period.getPeriodYear(), period.getPeriodMonth()))
+                    .toList();
+            if (!periods.isEmpty()) {
+                eventPublisher.publishEvent(new CategoryChangedEvent(user.getId(), updated.getId(), periods));
+            }
+        }
         log.info("Category ID {} updated successfully", updated.getId());
         return mapToDto(updated);
     }
@@ -0,0 +1,113 @@
+package com.pfm.FinanceManager.service.impl;
+
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
+import com.pfm.FinanceManager.dto.GoalProgress;
+import com.pfm.FinanceManager.entity.SavingsGoal;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.repository.SavingsGoalRepository;
+import com.pfm.FinanceManager.service.GoalStatusService;
+import com.pfm.FinanceManager.util.GoalStatusUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GoalStatusServiceImpl implements GoalStatusService {
+
+    static final int BATCH_SIZE = 500;
+
+    private final SavingsGoalRepository goalRepo;
+    private final ColumnarTransactionStore columnarStore;
+
+    @Override
+    @Scheduled(cron = "${app.goals.status-cron}")
+    public int evaluateAll() {
+        LocalDate today = LocalDate.now();
+        int changed = 0;
+        long lastId = 0;
+        List<SavingsGoal> batch;
+        do {
+            batch = goalRepo.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            changed += applyStatuses(batch, progressFromSql(batch), today);
+            lastId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == BATCH_SIZE);
+
+        log.info("Goal status evaluation finished, {} goals changed status", changed);
+        return changed;
+    }
+
+    @Override
+    public int evaluateForUser(Long userId) {
+        List<SavingsGoal> goals = goalRepo.findByUserId(userId);
+        if (goals.isEmpty()) {
+            return 0;
+        }
+        // One user's windows are index lookups when the columnar store is on; the batch job stays on SQL
+        Map<Long, GoalProgress> progressByGoal = columnarStore.goalProgress(userId, goals)
+                .orElseGet(() -> progressFromSql(goals));
+        return applyStatuses(goals, progressByGoal, LocalDate.now());
+    }
+
+    /**
+     * Runs after the transaction write has committed, so the progress query sees it, and
+     * off the request thread so the write response does not wait for goal evaluation.
+     * Needs its own transaction because the writer's one is already finished.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        int changed = evaluateForUser(event.getUserId());
+        if (changed > 0) {
+            log.info("{} goals changed status for user ID {} after transaction write", changed, event.getUserId());
+        }
+    }
+
+    // One grouped progress query for the whole batch
+    private Map<Long, GoalProgress> progressFromSql(List<SavingsGoal> goals) {
+        List<Long> ids = goals.stream().map(SavingsGoal::getId).toList();
+        return goalRepo.findProgressByGoalIds(ids).stream()
+                .collect(Collectors.toMap(GoalProgress::getGoalId, Function.identity()));
+    }
+
+    /**
+     * Derives the status of each goal from its progress and writes only the goals whose
+     * status differs, with one bulk UPDATE per target status.
+     */
+    private int applyStatuses(List<SavingsGoal> goals, Map<Long, GoalProgress> progressByGoal, LocalDate today) {
+        Map<SavingsGoal.GoalStatus, List<Long>> transitions = new EnumMap<>(SavingsGoal.GoalStatus.class);
+        for (SavingsGoal goal : goals) {
+            SavingsGoal.GoalStatus status = GoalStatusUtil.deriveStatus(goal,
+                    GoalStatusUtil.currentProgress(progressByGoal.get(goal.getId())), today);
+            if (goal.getStatus() != status) {
+                transitions.computeIfAbsent(status, s -> new ArrayList<>()).add(goal.getId());
+            }
+        }
+
+        int changed = 0;
+        for (Map.Entry<SavingsGoal.GoalStatus, List<Long>> transition : transitions.entrySet()) {
+            changed += goalRepo.updateStatus(transition.getValue(), transition.getKey());
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,211 @@
+package com.pfm.FinanceManager.service.impl;
+
+import com.pfm.FinanceManager.dto.GoalResponse;
+import com.pfm.FinanceManager.dto.MonthlyTotalsChange;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.event.TransactionDelta;
+import com.pfm.FinanceManager.service.LiveUpdateService;
+import com.pfm.FinanceManager.service.SavingsGoalService;
+import com.pfm.FinanceManager.util.SessionUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes changes to each user's open event streams once a transaction write has committed,
+ * so clients update the totals and goals they show instead of re-polling the reports.
+ * Month totals are derived from the event's deltas alone; only goals whose window covers a
+ * changed date are re-read. Users without an open stream cost nothing.
+ * <p>
+ * Streams are held per node in memory. A stream times out after {@code app.live.timeout}, or
+ * sooner when the session or token it was opened with runs out, and logout completes the
+ * user's streams; EventSource clients reconnect on their own and are authenticated again.
+ * A heartbeat comment every {@code app.live.heartbeat} keeps proxies from closing idle
+ * streams and drops dead ones.
+ */
+@Slf4j
+@Service
+public class LiveUpdateServiceImpl implements LiveUpdateService {
+
+    static final String TOTALS_EVENT = "totals";
+    static final String GOALS_EVENT = "goals";
+
+    // Floor for a stream's lifetime; an async timeout of 0 would mean no timeout at all
+    private static final Duration MIN_TIMEOUT = Duration.ofSeconds(1);
+
+    private final SessionUtil sessionUtil;
+    private final SavingsGoalService goalService;
+    private final Executor sendExecutor;
+    private final Duration timeout;
+    private final int maxStreamsPerUser;
+    private final Map<Long, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+
+    public LiveUpdateServiceImpl(SessionUtil sessionUtil,
+                                 SavingsGoalService goalService,
+                                 @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor sendExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.live.timeout:30m}") Duration timeout,
+                                 @Value("${app.live.max-streams-per-user:5}") int maxStreamsPerUser) {
+        this.sessionUtil = sessionUtil;
+        this.goalService = goalService;
+        this.sendExecutor = sendExecutor;
+        this.timeout = timeout;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        Gauge.builder("pfm.live.streams", this, LiveUpdateServiceImpl::openStreams)
+                .description("Open server-sent event streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        Long userId = sessionUtil.getSessionUser().getId();
+        SseEmitter emitter = new SseEmitter(streamTimeout(sessionUtil.getSessionTimeLeft()).toMillis());
+        streams.compute(userId, (id, userStreams) -> {
+            Set<SseEmitter> updated = userStreams != null ? userStreams : ConcurrentHashMap.newKeySet();
+            if (updated.size() >= maxStreamsPerUser) {
+                log.warn("User ID {} already has {} live streams open", id, updated.size());
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many live update streams");
+            }
+            updated.add(emitter);
+            return updated;
+        });
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(error -> remove(userId, emitter));
+        // Commits the response headers, so the client sees the stream open right away
+        send(userId, emitter, SseEmitter.event().comment("connected"));
+        log.info("Live update stream opened for user ID {}", userId);
+        return emitter;
+    }
+
+    /**
+     * Runs after commit, off the writer's thread: goal progress is re-read and slow clients
+     * are written to without delaying the write response.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Long userId = event.getUserId();
+        if (!streams.containsKey(userId)) {
+            return;
+        }
+        List<MonthlyTotalsChange> totals = monthlyChanges(event.getDeltas());
+        if (!totals.isEmpty()) {
+            broadcast(userId, SseEmitter.event().name(TOTALS_EVENT).data(totals));
+        }
+        Set<LocalDate> dates = event.getDeltas().stream().map(TransactionDelta::getDate).collect(Collectors.toSet());
+        List<GoalResponse> goals = goalService.getGoalsCovering(userId, dates);
+        if (!goals.isEmpty()) {
+            broadcast(userId, SseEmitter.event().name(GOALS_EVENT).data(goals));
+        }
+    }
+
+    @Override
+    public void closeAll(Long userId) {
+        Set<SseEmitter> userStreams = streams.remove(userId);
+        if (userStreams != null) {
+            userStreams.forEach(SseEmitter::complete);
+            log.info("Closed {} live update streams of user ID {}", userStreams.size(), userId);
+        }
+    }
+
+    /**
+     * Runs on the scheduler thread shared with the other @Scheduled jobs, so it only hands
+     * each user's sends to the async executor; a slow client never blocks the scheduler.
+     */
+    @Scheduled(fixedDelayString = "${app.live.heartbeat:PT30S}")
+    public void heartbeat() {
+        streams.keySet().forEach(userId ->
+                sendExecutor.execute(() -> broadcast(userId, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    Duration streamTimeout(Duration sessionTimeLeft) {
+        if (sessionTimeLeft == null || sessionTimeLeft.compareTo(timeout) >= 0) {
+            return timeout;
+        }
+        return sessionTimeLeft.compareTo(MIN_TIMEOUT) > 0 ? sessionTimeLeft : MIN_TIMEOUT;
+    }
+
+    int openStreams() {
+        return streams.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Sums the deltas per month, in month order. Months whose totals did not change
+     * (e.g. a description edit) are left out.
+     */
+    static List<MonthlyTotalsChange> monthlyChanges(List<TransactionDelta> deltas) {
+        Map<YearMonth, MonthlyTotalsChange> months = new TreeMap<>();
+        for (TransactionDelta delta : deltas) {
+            YearMonth month = YearMonth.from(delta.getDate());
+            MonthlyTotalsChange change = months.computeIfAbsent(month, m -> new MonthlyTotalsChange(
+                    m.getYear(), m.getMonthValue(), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0));
+            if (delta.getType() == TransactionType.INCOME) {
+                change.setIncome(change.getIncome().add(delta.getAmount()));
+                change.setNetSavings(change.getNetSavings().add(delta.getAmount()));
+            } else {
+                change.setExpenses(change.getExpenses().add(delta.getAmount()));
+                change.setNetSavings(change.getNetSavings().subtract(delta.getAmount()));
+            }
+            change.setTransactions(change.getTransactions() + delta.getCount());
+        }
+        List<MonthlyTotalsChange> changed = new ArrayList<>();
+        for (MonthlyTotalsChange change : months.values()) {
+            if (change.getIncome().signum() != 0 || change.getExpenses().signum() != 0 || change.getTransactions() != 0) {
+                changed.add(change);
+            }
+        }
+        return changed;
+    }
+
+    private void broadcast(Long userId, SseEmitter.SseEventBuilder event) {
+        Set<SseEmitter> userStreams = streams.get(userId);
+        if (userStreams != null) {
+            userStreams.forEach(emitter -> send(userId, emitter, event));
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the stream already completed
+            log.debug("Dropping live update stream of user ID {}: {}", userId, e.getMessage());
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, userStreams) -> {
+            userStreams.remove(emitter);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+}
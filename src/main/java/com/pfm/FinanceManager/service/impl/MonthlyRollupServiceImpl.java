@@ -0,0 +1,77 @@
+package com.pfm.FinanceManager.service.impl;
+
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.repository.MonthlyCategoryTotalRepository;
+import com.pfm.FinanceManager.service.MonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Keeps the monthly_category_totals rollup in step with the transactions table.
+ * Must be called from inside the transaction that writes the Transaction row,
+ * so the rollup and the raw data commit or roll back together.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupServiceImpl implements MonthlyRollupService {
+
+    private final MonthlyCategoryTotalRepository rollupRepo;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Transaction transaction) {
+        if (transaction.getType() == null) {
+            log.debug("Transaction ID {} has no type; leaving it out of the rollup", transaction.getId());
+            return;
+        }
+        recordTotals(transaction.getUser(), YearMonth.from(transaction.getDate()), transaction.getCategory(),
+                transaction.getType(), transaction.getAmount(), 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(Transaction transaction) {
+        if (transaction.getType() == null) {
+            // Legacy rows without a type were never rolled up (the backfill skips them too)
+            log.debug("Transaction ID {} has no type; nothing to reverse in the rollup", transaction.getId());
+            return;
+        }
+        recordTotals(transaction.getUser(), YearMonth.from(transaction.getDate()), transaction.getCategory(),
+                transaction.getType(), transaction.getAmount().negate(), -1);
+        rollupRepo.deleteIfEmpty(transaction.getUser(), transaction.getDate().getYear(), transaction.getDate().getMonthValue(),
+                transaction.getCategory(), transaction.getType());
+    }
+
+    /**
+     * Adds an already-summed amount and transaction count to one rollup row, creating the row if needed.
+     * Two first writes to the same row may race between the update and the insert; the loser's
+     * insert hits the unique key and it repeats the update on the winner's row.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTotals(User user, YearMonth period, Category category, TransactionType type, BigDecimal amount, long count) {
+        int year = period.getYear();
+        int month = period.getMonthValue();
+
+        int updated = rollupRepo.addToTotal(user, year, month, category, type, amount, count);
+        if (updated > 0) {
+            return;
+        }
+        log.debug("Starting rollup row for user ID {} category ID {} {}/{}", user.getId(), category.getId(), month, year);
+        if (!rollupRepo.insertTotal(user.getId(), year, month, category.getId(), type, amount, count)) {
+            log.debug("Rollup row for user ID {} category ID {} {}/{} created concurrently; adding to it",
+                    user.getId(), category.getId(), month, year);
+            rollupRepo.addToTotal(user, year, month, category, type, amount, count);
+        }
+    }
+}
@@ -1,95 +1,188 @@
 package com.pfm.FinanceManager.service.impl;
 
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
+import com.pfm.FinanceManager.analytics.PeriodTotals;
+import com.pfm.FinanceManager.cache.ReportCache;
+import com.pfm.FinanceManager.dto.CategoryTotal;
 import com.pfm.FinanceManager.dto.MonthlyReportResponse;
+import com.pfm.FinanceManager.dto.PeriodCategoryTotal;
+import com.pfm.FinanceManager.dto.TrendPoint;
+import com.pfm.FinanceManager.dto.TrendReportResponse;
 import com.pfm.FinanceManager.dto.YearlyReportResponse;
-import com.pfm.FinanceManager.entity.Transaction;
 import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
-import com.pfm.FinanceManager.repository.TransactionRepository;
+import com.pfm.FinanceManager.repository.MonthlyCategoryTotalRepository;
 import com.pfm.FinanceManager.service.ReportService;
+import com.pfm.FinanceManager.util.CentsAccumulator;
 import com.pfm.FinanceManager.util.SessionUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Slf4j
 @Service
+@Timed(value = "pfm.service", histogram = true)
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
-    private final TransactionRepository transactionRepository;
+    static final int MAX_TREND_MONTHS = 600;
+
+    private final MonthlyCategoryTotalRepository rollupRepo;
     private final SessionUtil sessionUtil;
+    private final ReportCache reportCache;
+    private final ColumnarTransactionStore columnarStore;
 
     @Override
     public MonthlyReportResponse getMonthlyReport(int year, int month) {
         User user = sessionUtil.getSessionUser();
-        log.info("Generating monthly report for user ID {} for {}/{}", user.getId(), month, year);
+        if (month < 1 || month > 12) {
+            log.warn("Rejected monthly report for month {} for user ID {}", month, user.getId());
+            throw new RuntimeException("Month must be between 1 and 12");
+        }
+        return reportCache.getMonthly(user.getId(), year, month, () -> buildMonthlyReport(user, year, month));
+    }
 
-        LocalDate start = LocalDate.of(year, month, 1);
-        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+    @Override
+    public YearlyReportResponse getYearlyReport(int year) {
+        User user = sessionUtil.getSessionUser();
+        return reportCache.getYearly(user.getId(), year, () -> buildYearlyReport(user, year));
+    }
 
-        List<Transaction> transactions = transactionRepository.findAllByUserAndDateBetween(user, start, end);
-        log.info("Found {} transactions for the month", transactions.size());
+    /**
+     * Builds the whole series from the in-memory columns when enabled, otherwise from one grouped
+     * rollup query whose rows come back ordered by month and are folded into a pre-filled
+     * month-to-point map in a single pass.
+     */
+    @Override
+    public TrendReportResponse getTrend(YearMonth from, YearMonth to, boolean byCategory) {
+        User user = sessionUtil.getSessionUser();
+        if (from.isAfter(to)) {
+            log.warn("Rejected trend request from {} to {} for user ID {}", from, to, user.getId());
+            throw new RuntimeException("Trend start must not be after its end");
+        }
+        long months = ChronoUnit.MONTHS.between(from, to) + 1;
+        if (months > MAX_TREND_MONTHS) {
+            log.warn("Rejected trend request of {} months for user ID {}", months, user.getId());
+            throw new RuntimeException("Trend range cannot exceed " + MAX_TREND_MONTHS + " months");
+        }
+        log.info("Generating trend for user ID {} from {} to {} (by category: {})", user.getId(), from, to, byCategory);
 
-        Map<String, BigDecimal> income = new HashMap<>();
-        Map<String, BigDecimal> expenses = new HashMap<>();
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpenses = BigDecimal.ZERO;
+        Map<YearMonth, TrendPoint> points = new LinkedHashMap<>();
+        for (YearMonth period = from; !period.isAfter(to); period = period.plusMonths(1)) {
+            points.put(period, new TrendPoint(period.getYear(), period.getMonthValue(), BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ZERO, byCategory ? new HashMap<>() : null, byCategory ? new HashMap<>() : null));
+        }
 
-        for (Transaction tx : transactions) {
-            String categoryName = tx.getCategory().getName();
-            BigDecimal amount = tx.getAmount();
+        Optional<List<PeriodTotals>> columns = columnarStore.monthlyTotals(user.getId(), from, to);
+        if (columns.isPresent()) {
+            int index = 0;
+            for (TrendPoint point : points.values()) {
+                PeriodTotals month = columns.get().get(index++);
+                point.setIncome(month.getIncomeTotal());
+                point.setExpenses(month.getExpenseTotal());
+                if (byCategory) {
+                    point.getIncomeByCategory().putAll(month.getIncome());
+                    point.getExpensesByCategory().putAll(month.getExpenses());
+                }
+            }
+            points.values().forEach(point -> point.setNetSavings(point.getIncome().subtract(point.getExpenses())));
+            log.info("Trend for user ID {} built from in-memory columns over {} months", user.getId(), months);
+            return new TrendReportResponse(from, to, new ArrayList<>(points.values()));
+        }
 
-            if (tx.getType() == TransactionType.INCOME) {
-                income.put(categoryName, income.getOrDefault(categoryName, BigDecimal.ZERO).add(amount));
-                totalIncome = totalIncome.add(amount);
+        List<PeriodCategoryTotal> rows = rollupRepo.sumByMonthCategoryAndType(user, from.getYear(), to.getYear(),
+                from.getYear() * 100 + from.getMonthValue(), to.getYear() * 100 + to.getMonthValue());
+        for (PeriodCategoryTotal row : rows) {
+            TrendPoint point = points.get(YearMonth.of(row.getPeriodYear(), row.getPeriodMonth()));
+            if (row.getType() == TransactionType.INCOME) {
+                point.setIncome(point.getIncome().add(row.getTotal()));
+                if (byCategory) {
+                    point.getIncomeByCategory().merge(row.getCategoryName(), row.getTotal(), BigDecimal::add);
+                }
             } else {
-                expenses.put(categoryName, expenses.getOrDefault(categoryName, BigDecimal.ZERO).add(amount));
-                totalExpenses = totalExpenses.add(amount);
+                point.setExpenses(point.getExpenses().add(row.getTotal()));
+                if (byCategory) {
+                    point.getExpensesByCategory().merge(row.getCategoryName(), row.getTotal(), BigDecimal::add);
+                }
             }
         }
+        points.values().forEach(point -> point.setNetSavings(point.getIncome().subtract(point.getExpenses())));
 
-        log.info("Monthly income: {}, expenses: {}, net savings: {}", totalIncome, totalExpenses, totalIncome.subtract(totalExpenses));
-        return new MonthlyReportResponse(month, year, income, expenses, totalIncome.subtract(totalExpenses));
+        log.info("Trend for user ID {} built from {} grouped rows over {} months", user.getId(), rows.size(), months);
+        return new TrendReportResponse(from, to, new ArrayList<>(points.values()));
     }
 
-    @Override
-    public YearlyReportResponse getYearlyReport(int year) {
-        User user = sessionUtil.getSessionUser();
+    private MonthlyReportResponse buildMonthlyReport(User user, int year, int month) {
+        log.info("Generating monthly report for user ID {} for {}/{}", user.getId(), month, year);
+
+        Optional<PeriodTotals> columns = columnarStore.categoryTotals(user.getId(), year, month, month);
+        if (columns.isPresent()) {
+            PeriodTotals totals = columns.get();
+            return new MonthlyReportResponse(month, year, totals.getIncome(), totals.getExpenses(), totals.getNetSavings());
+        }
+
+        List<CategoryTotal> totals = rollupRepo.sumByCategoryAndType(user, year, month, month);
+        log.info("Found {} category totals for the month", totals.size());
+
+        Map<String, BigDecimal> income = new HashMap<>();
+        Map<String, BigDecimal> expenses = new HashMap<>();
+        BigDecimal netSavings = collectTotals(totals, income, expenses);
+
+        log.info("Monthly income categories: {}, expense categories: {}, net savings: {}", income.size(), expenses.size(), netSavings);
+        return new MonthlyReportResponse(month, year, income, expenses, netSavings);
+    }
+
+    private YearlyReportResponse buildYearlyReport(User user, int year) {
         log.info("Generating yearly report for user ID {} for {}", user.getId(), year);
 
-        LocalDate start = LocalDate.of(year, 1, 1);
-        LocalDate end = LocalDate.of(year, 12, 31);
+        Optional<PeriodTotals> columns = columnarStore.categoryTotals(user.getId(), year, 1, 12);
+        if (columns.isPresent()) {
+            PeriodTotals totals = columns.get();
+            return new YearlyReportResponse(year, totals.getIncome(), totals.getExpenses(), totals.getNetSavings());
+        }
 
-        List<Transaction> transactions = transactionRepository.findAllByUserAndDateBetween(user, start, end);
-        log.info("Found {} transactions for the year", transactions.size());
+        List<CategoryTotal> totals = rollupRepo.sumByCategoryAndType(user, year, 1, 12);
+        log.info("Found {} category totals for the year", totals.size());
 
         Map<String, BigDecimal> income = new HashMap<>();
         Map<String, BigDecimal> expenses = new HashMap<>();
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpenses = BigDecimal.ZERO;
+        BigDecimal netSavings = collectTotals(totals, income, expenses);
 
-        for (Transaction tx : transactions) {
-            String categoryName = tx.getCategory().getName();
-            BigDecimal amount = tx.getAmount();
+        log.info("Yearly income categories: {}, expense categories: {}, net savings: {}", income.size(), expenses.size(), netSavings);
+        return new YearlyReportResponse(year, income, expenses, netSavings);
+    }
 
-            if (tx.getType() == TransactionType.INCOME) {
-                income.put(categoryName, income.getOrDefault(categoryName, BigDecimal.ZERO).add(amount));
-                totalIncome = totalIncome.add(amount);
+    /**
+     * Splits the grouped rows into per-category income and expense maps, summing in
+     * long cents rather than allocating a BigDecimal per row.
+     *
+     * @return total income minus total expenses
+     */
+    private BigDecimal collectTotals(List<CategoryTotal> totals, Map<String, BigDecimal> income, Map<String, BigDecimal> expenses) {
+        CentsAccumulator<String> incomeSums = new CentsAccumulator<>();
+        CentsAccumulator<String> expenseSums = new CentsAccumulator<>();
+
+        for (CategoryTotal row : totals) {
+            if (row.getType() == TransactionType.INCOME) {
+                incomeSums.add(row.getCategoryName(), row.getTotal());
             } else {
-                expenses.put(categoryName, expenses.getOrDefault(categoryName, BigDecimal.ZERO).add(amount));
-                totalExpenses = totalExpenses.add(amount);
+                expenseSums.add(row.getCategoryName(), row.getTotal());
             }
         }
-
-        log.info("Yearly income: {}, expenses: {}, net savings: {}", totalIncome, totalExpenses, totalIncome.subtract(totalExpenses));
-        return new YearlyReportResponse(year, income, expenses, totalIncome.subtract(totalExpenses));
+        income.putAll(incomeSums.toMap(Function.identity()));
+        expenses.putAll(expenseSums.toMap(Function.identity()));
+        return incomeSums.grandTotal().subtract(expenseSums.grandTotal());
     }
 }
-
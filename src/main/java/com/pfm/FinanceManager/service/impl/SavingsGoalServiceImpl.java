@@ -1,35 +1,44 @@
 package com.pfm.FinanceManager.service.impl;
 
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
 import com.pfm.FinanceManager.dto.CreateGoalRequest;
+import com.pfm.FinanceManager.dto.GoalProgress;
 import com.pfm.FinanceManager.dto.GoalResponse;
 import com.pfm.FinanceManager.dto.UpdateGoalRequest;
 import com.pfm.FinanceManager.entity.SavingsGoal;
-import com.pfm.FinanceManager.entity.Transaction;
-import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.event.GoalChangedEvent;
 import com.pfm.FinanceManager.repository.SavingsGoalRepository;
-import com.pfm.FinanceManager.repository.TransactionRepository;
 import com.pfm.FinanceManager.service.SavingsGoalService;
+import com.pfm.FinanceManager.util.GoalStatusUtil;
 import com.pfm.FinanceManager.util.SessionUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "pfm.service", histogram = true)
 @RequiredArgsConstructor
 public class SavingsGoalServiceImpl implements SavingsGoalService {
 
     private final SavingsGoalRepository goalRepo;
-    private final TransactionRepository transactionRepo;
     private final SessionUtil sessionUtil;
+    private final ColumnarTransactionStore columnarStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public SavingsGoal createGoal(CreateGoalRequest request) {
@@ -48,12 +57,14 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
         goal.setStartDate(startDate);
         goal.setUser(user);
         SavingsGoal savedGoal = goalRepo.save(goal);
+        eventPublisher.publishEvent(new GoalChangedEvent(user.getId(), savedGoal.getId()));
 
         log.info("Created new goal '{}' for user ID {} with target amount {}", request.getGoalName(), user.getId(), request.getTargetAmount());
         return savedGoal;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GoalResponse> getAllGoals() {
         User user = sessionUtil.getSessionUser();
         if (user == null) {
@@ -61,12 +72,15 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
             return Collections.emptyList();
         }
         log.info("Fetching all goals for user ID {}", user.getId());
-        return goalRepo.findByUser(user).stream()
-                .map(goal -> mapToGoalResponse(goal, user))
+        List<SavingsGoal> goals = goalRepo.findByUser(user);
+        Map<Long, GoalProgress> progressByGoal = progressByGoal(user, goals);
+        return goals.stream()
+                .map(goal -> mapToGoalResponse(goal, progressByGoal.get(goal.getId())))
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public GoalResponse getGoalById(Long id) {
         User user = sessionUtil.getSessionUser();
         SavingsGoal goal = goalRepo.findById(id).orElse(null);
@@ -81,7 +95,7 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
         }
 
         log.info("Fetched goal ID {} for user ID {}", id, user.getId());
-        return mapToGoalResponse(goal, user);
+        return mapToGoalResponse(goal, progressOf(user, goal));
     }
 
     @Override
@@ -106,7 +120,11 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
 
         goal.setTargetAmount(request.getTargetAmount());
         goal.setTargetDate(request.getTargetDate());
+        // A new target can complete or reopen the goal; store the status that now applies
+        BigDecimal currentProgress = GoalStatusUtil.currentProgress(progressOf(user, goal));
+        goal.setStatus(GoalStatusUtil.deriveStatus(goal, currentProgress, LocalDate.now()));
         SavingsGoal updatedGoal = goalRepo.save(goal);
+        eventPublisher.publishEvent(new GoalChangedEvent(user.getId(), id));
         log.info("Updated goal ID {} for user ID {}", id, user.getId());
         return updatedGoal;
     }
@@ -132,34 +150,50 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
         }
 
         goalRepo.delete(goal);
+        eventPublisher.publishEvent(new GoalChangedEvent(user.getId(), id));
         log.info("Deleted goal ID {} for user ID {}", id, user.getId());
         return "Goal deleted successfully";
     }
 
-    private GoalResponse mapToGoalResponse(SavingsGoal goal, User user) {
-        LocalDate startDate = goal.getStartDate();
-        LocalDate targetDate = goal.getTargetDate();
-        LocalDate currentDate = LocalDate.now();
-        
-        // Get transactions between start date and target date
-        List<Transaction> transactions = transactionRepo.findByUserAndDateGreaterThanEqual(user, startDate)
-                .stream()
-                .filter(t -> !t.getDate().isAfter(targetDate))
+    @Override
+    @Transactional(readOnly = true)
+    public List<GoalResponse> getGoalsCovering(Long userId, Collection<LocalDate> dates) {
+        List<SavingsGoal> goals = goalRepo.findByUserId(userId).stream()
+                .filter(goal -> dates.stream().anyMatch(date ->
+                        !date.isBefore(goal.getStartDate()) && !date.isAfter(goal.getTargetDate())))
+                .toList();
+        if (goals.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, GoalProgress> progressByGoal = columnarStore.goalProgress(userId, goals)
+                .orElseGet(() -> goalRepo.findProgressByGoalIds(goals.stream().map(SavingsGoal::getId).toList()).stream()
+                        .collect(Collectors.toMap(GoalProgress::getGoalId, Function.identity())));
+        return goals.stream()
+                .map(goal -> mapToGoalResponse(goal, progressByGoal.get(goal.getId())))
                 .collect(Collectors.toList());
+    }
+
+    // From the in-memory columns when enabled, else the grouped SQL queries
+    private Map<Long, GoalProgress> progressByGoal(User user, List<SavingsGoal> goals) {
+        return columnarStore.goalProgress(user.getId(), goals).orElseGet(() -> goalRepo.findProgressByUser(user).stream()
+                .collect(Collectors.toMap(GoalProgress::getGoalId, Function.identity())));
+    }
 
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private GoalProgress progressOf(User user, SavingsGoal goal) {
+        return columnarStore.goalProgress(user.getId(), List.of(goal))
+                .map(progress -> progress.get(goal.getId()))
+                .orElseGet(() -> goalRepo.findProgressByGoal(goal).orElse(null));
+    }
 
-        BigDecimal totalExpense = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Pure mapping: the status is derived for the response only. The stored status is kept
+     * up to date by GoalStatusService, so reads never write.
+     *
+     * @param progress income/expense sums for the goal window, or null when the goal has none yet
+     */
+    private GoalResponse mapToGoalResponse(SavingsGoal goal, GoalProgress progress) {
+        BigDecimal currentProgress = GoalStatusUtil.currentProgress(progress);
 
-        // Calculate current progress (ensure it's not negative)
-        BigDecimal currentProgress = totalIncome.subtract(totalExpense).max(BigDecimal.ZERO);
-        
         // Calculate remaining amount
         BigDecimal remaining = goal.getTargetAmount().subtract(currentProgress).max(BigDecimal.ZERO);
         
@@ -170,21 +204,7 @@ public class SavingsGoalServiceImpl implements SavingsGoalService {
                         .min(BigDecimal.valueOf(100))
                         .doubleValue() : 0.0;
 
-        // Determine goal status
-        SavingsGoal.GoalStatus status;
-        if (currentProgress.compareTo(goal.getTargetAmount()) >= 0) {
-            status = SavingsGoal.GoalStatus.COMPLETED;
-        } else if (currentDate.isAfter(targetDate)) {
-            status = SavingsGoal.GoalStatus.OVERDUE;
-        } else {
-            status = SavingsGoal.GoalStatus.IN_PROGRESS;
-        }
-
-        // Update goal status if it has changed
-        if (goal.getStatus() != status) {
-            goal.setStatus(status);
-            goalRepo.save(goal);
-        }
+        SavingsGoal.GoalStatus status = GoalStatusUtil.deriveStatus(goal, currentProgress, LocalDate.now());
 
         return new GoalResponse(
                 goal.getId(), goal.getGoalName(), goal.getTargetAmount(), goal.getTargetDate(),
@@ -1,5 +1,16 @@
 package com.pfm.FinanceManager.service.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.pfm.FinanceManager.dto.ExportFormat;
+import com.pfm.FinanceManager.dto.ImportResultResponse;
+import com.pfm.FinanceManager.dto.ImportRowError;
+import com.pfm.FinanceManager.dto.TransactionFilter;
+import com.pfm.FinanceManager.dto.TransactionPageResponse;
 import com.pfm.FinanceManager.dto.TransactionRequest;
 import com.pfm.FinanceManager.dto.TransactionResponse;
 import com.pfm.FinanceManager.dto.TransactionUpdateRequest;
@@ -7,26 +18,74 @@ import com.pfm.FinanceManager.entity.Category;
 import com.pfm.FinanceManager.entity.Transaction;
 import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.event.TransactionDelta;
 import com.pfm.FinanceManager.repository.CategoryRepository;
 import com.pfm.FinanceManager.repository.TransactionRepository;
+import com.pfm.FinanceManager.service.MonthlyRollupService;
 import com.pfm.FinanceManager.service.TransactionService;
 import com.pfm.FinanceManager.util.SessionUtil;
+import com.pfm.FinanceManager.util.TransactionCsvUtil;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "pfm.service", histogram = true)
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int IMPORT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (amount, date, description, type, category_id, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
     private final TransactionRepository transactionRepo;
     private final CategoryRepository categoryRepo;
     private final SessionUtil sessionUtil;
+    private final MonthlyRollupService rollupService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final TransactionCsvUtil csvUtil;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // One import is parsed, validated and written in a single transaction, all in memory
+    @Value("${app.import.max-rows:10000}")
+    private int maxImportRows = 10_000;
 
     @Override
     @Transactional
@@ -53,6 +112,8 @@ public class TransactionServiceImpl implements TransactionService {
 
         // Save and verify the transaction
         Transaction saved = transactionRepo.save(transaction);
+        rollupService.record(saved);
+        eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(), List.of(TransactionDelta.added(saved))));
         log.info("Transaction created with ID {} and type {}", saved.getId(), saved.getType());
 
         // Map to DTO and verify type is set
@@ -65,6 +126,142 @@ public class TransactionServiceImpl implements TransactionService {
         return response;
     }
 
+    @Override
+    @Transactional
+    public ImportResultResponse importJson(Reader json) {
+        List<ImportRowError> errors = new ArrayList<>();
+        List<TransactionRequest> rows = parseJsonRows(json, errors);
+        return importRows(rows, errors);
+    }
+
+    /**
+     * Reads the array one element at a time so the row cap stops the read early and an
+     * element that does not bind is reported against its row instead of failing the import.
+     */
+    private List<TransactionRequest> parseJsonRows(Reader json, List<ImportRowError> errors) {
+        List<TransactionRequest> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Import body must be a JSON array");
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new RuntimeException("Import body ended before the array was closed");
+                }
+                if (rows.size() == maxImportRows) {
+                    log.warn("Rejected import over {} rows for user ID {}", maxImportRows, sessionUtil.getSessionUserId());
+                    throw new RuntimeException("Import cannot exceed " + maxImportRows + " rows");
+                }
+                JsonNode element = objectMapper.readTree(parser);
+                rows.add(toImportRow(element, rows.size() + 1, errors));
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Import body is not valid JSON", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private TransactionRequest toImportRow(JsonNode element, int rowNumber, List<ImportRowError> errors) {
+        if (element.isNull()) {
+            errors.add(new ImportRowError(rowNumber, "Empty row"));
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(element, TransactionRequest.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            String field = e instanceof MismatchedInputException mismatch && !mismatch.getPath().isEmpty()
+                    ? mismatch.getPath().get(0).getFieldName()
+                    : null;
+            errors.add(new ImportRowError(rowNumber, field == null
+                    ? "Invalid row"
+                    : "Invalid " + field + ": " + element.path(field).asText()));
+            return null;
+        }
+    }
+
+    @Override
+    @Transactional
+    public ImportResultResponse importCsv(Reader csv) {
+        List<ImportRowError> errors = new ArrayList<>();
+        List<TransactionRequest> rows = csvUtil.parse(csv, maxImportRows, errors);
+        return importRows(rows, errors);
+    }
+
+    /**
+     * Validates each row, resolves its category from a map built once per import, and writes
+     * valid rows with JDBC batch inserts. Rollup totals are summed per (month, category) in
+     * memory and applied once per key at the end. Invalid rows are skipped and reported.
+     *
+     * @param rows rows to import; null entries were rejected earlier and already have an error
+     */
+    private ImportResultResponse importRows(List<TransactionRequest> rows, List<ImportRowError> errors) {
+        User user = sessionUtil.getSessionUser();
+        log.info("Importing {} transactions for user ID {}", rows.size(), user.getId());
+
+        Map<String, Category> categories = categoryRepo.findByUser(user).stream()
+                .collect(Collectors.toMap(Category::getName, Function.identity()));
+        Map<YearMonth, Map<Category, ImportTotals>> totals = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<TransactionDelta> deltas = new ArrayList<>();
+        int imported = 0;
+
+        for (int i = 0; i < rows.size(); i++) {
+            TransactionRequest row = rows.get(i);
+            if (row == null) {
+                continue;
+            }
+            int rowNumber = i + 1;
+
+            Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                errors.add(new ImportRowError(rowNumber, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+            Category category = categories.get(row.getCategory());
+            if (category == null) {
+                errors.add(new ImportRowError(rowNumber, "Category not found: " + row.getCategory()));
+                continue;
+            }
+
+            batch.add(new Object[]{row.getAmount(), row.getDate(), row.getDescription(),
+                    category.getType().name(), category.getId(), user.getId()});
+            totals.computeIfAbsent(YearMonth.from(row.getDate()), period -> new IdentityHashMap<>())
+                    .computeIfAbsent(category, c -> new ImportTotals())
+                    .add(row.getAmount());
+            deltas.add(new TransactionDelta(null, row.getDate(), category.getId(), category.getType(), row.getAmount(), 1));
+
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                imported += insertBatch(batch);
+            }
+        }
+        imported += insertBatch(batch);
+
+        totals.forEach((period, byCategory) -> byCategory.forEach((category, sum) ->
+                rollupService.recordTotals(user, period, category, category.getType(), sum.amount, sum.count)));
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(), deltas));
+        }
+
+        errors.sort(Comparator.comparingInt(ImportRowError::getRow));
+        log.info("Imported {} transactions for user ID {}, {} rows rejected", imported, user.getId(), errors.size());
+        return new ImportResultResponse(imported, errors.size(), errors);
+    }
+
+    private int insertBatch(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
     @Override
     public List<TransactionResponse> getAll() {
         User user = sessionUtil.getSessionUser();
@@ -91,6 +288,85 @@ public class TransactionServiceImpl implements TransactionService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getPage(String cursor, int limit) {
+        User user = sessionUtil.getSessionUser();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        log.info("Fetching page of {} transactions after cursor {} for user ID {}", pageSize, cursor, user.getId());
+
+        // Ask for one extra row to learn whether another page follows
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepo.findFirstPage(user, window);
+        } else {
+            String[] position = decodeCursor(cursor);
+            transactions = transactionRepo.findPageAfter(user, LocalDate.parse(position[0]), Long.valueOf(position[1]), window);
+        }
+
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            Transaction last = transactions.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getDate(), last.getId());
+        }
+
+        List<TransactionResponse> page = transactions.stream()
+                .map(this::mapToDto)
+                .toList();
+        return new TransactionPageResponse(page, nextCursor);
+    }
+
+    /**
+     * Resolves the user and category on the calling request thread, then returns a body that
+     * streams matching rows from a forward-only JDBC cursor when the response is written.
+     * No JPA transaction is held open while the client downloads.
+     */
+    @Override
+    public StreamingResponseBody export(ExportFormat format, LocalDate start, LocalDate end, TransactionType type, String category) {
+        User user = sessionUtil.getSessionUser();
+        log.info("Exporting transactions as {} for user ID {}", format, user.getId());
+
+        Long categoryId = null;
+        if (category != null) {
+            categoryId = categoryRepo.findByNameAndUser(category, user)
+                    .orElseThrow(() -> {
+                        log.warn("Category {} not found for export", category);
+                        return new RuntimeException("Category not found");
+                    })
+                    .getId();
+        }
+        TransactionFilter filter = TransactionFilter.builder()
+                .startDate(start)
+                .endDate(end)
+                .type(type)
+                .categoryId(categoryId)
+                .build();
+        Long userId = user.getId();
+
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writer.write(TransactionCsvUtil.HEADER);
+                writer.write('\n');
+            }
+            try {
+                transactionRepo.streamForExport(userId, filter, row -> {
+                    try {
+                        writer.write(format == ExportFormat.CSV ? csvUtil.toCsvRecord(row) : objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
     @Override
     public List<TransactionResponse> getByDateRange(LocalDate start, LocalDate end) {
         User user = sessionUtil.getSessionUser();
@@ -173,6 +449,10 @@ public class TransactionServiceImpl implements TransactionService {
             throw new RuntimeException("Transaction not accessible to user");
         }
 
+        // Take the old amount/category out of the monthly rollup before changing them
+        rollupService.reverse(transaction);
+        TransactionDelta removed = TransactionDelta.removed(transaction);
+
         // Update only the fields that are provided in the request
         if (request.getAmount() != null) {
         transaction.setAmount(request.getAmount());
@@ -200,6 +480,8 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         Transaction updated = transactionRepo.save(transaction);
+        rollupService.record(updated);
+        eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(), List.of(removed, TransactionDelta.added(updated))));
         log.info("Transaction ID {} updated with type {}", updated.getId(), updated.getType());
 
         return mapToDto(updated);
@@ -223,10 +505,32 @@ public class TransactionServiceImpl implements TransactionService {
             throw new RuntimeException("Transaction not accessible to user");
         }
 
+        rollupService.reverse(transaction);
         transactionRepo.deleteById(id);
+        eventPublisher.publishEvent(new TransactionChangedEvent(user.getId(), List.of(TransactionDelta.removed(transaction))));
         log.info("Transaction ID {} deleted", id);
     }
 
+    private static String encodeCursor(LocalDate date, Long id) {
+        String position = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDate.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.warn("Rejected invalid pagination cursor '{}'", cursor);
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
     private TransactionResponse mapToDto(Transaction t) {
         if (t.getType() == null) {
             log.error("Transaction type is null for transaction ID {}", t.getId());
@@ -242,5 +546,14 @@ public class TransactionServiceImpl implements TransactionService {
                 .category(t.getCategory().getName())
                 .build();
     }
-}
 
+    private static final class ImportTotals {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        void add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+        }
+    }
+}
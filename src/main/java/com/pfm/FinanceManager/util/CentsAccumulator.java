@@ -0,0 +1,125 @@
+package com.pfm.FinanceManager.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sums money amounts per key in primitive {@code long} cents instead of allocating a new
+ * BigDecimal (and re-putting a map entry) for every added amount. Each key gets a slot in
+ * parallel arrays the first time it is seen; later adds only look the slot up.
+ * <p>
+ * Amounts with more than two decimals, amounts too large for the exact double round trip,
+ * and slots whose running total would overflow a long continue in BigDecimal, so results
+ * always equal plain BigDecimal addition, including the scale. Not thread-safe.
+ */
+public final class CentsAccumulator<K> {
+
+    // |amount| below this converts to cents through the double fast path exactly
+    private static final double FAST_PATH_LIMIT = 1e13;
+
+    private final Map<K, Integer> slots = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private long[] cents = new long[16];
+    private int[] scales = new int[16];
+    private BigDecimal[] exact = new BigDecimal[16];
+
+    public void add(K key, BigDecimal amount) {
+        int slot = slotOf(key);
+        scales[slot] = Math.max(scales[slot], amount.scale());
+        if (exact[slot] == null && amount.scale() <= 2) {
+            // BigDecimal.doubleValue() has an allocation-free path for small compact values;
+            // the round trip proves the cents value is exact before it is used
+            double value = amount.doubleValue();
+            if (Math.abs(value) < FAST_PATH_LIMIT) {
+                long amountCents = Math.round(value * 100);
+                if (amountCents / 100.0 == value) {
+                    addCents(slot, amountCents);
+                    return;
+                }
+            }
+        }
+        addExact(slot, amount);
+    }
+
+    public void add(K key, long amountCents) {
+        int slot = slotOf(key);
+        scales[slot] = Math.max(scales[slot], 2);
+        if (exact[slot] == null) {
+            addCents(slot, amountCents);
+        } else {
+            exact[slot] = exact[slot].add(BigDecimal.valueOf(amountCents, 2));
+        }
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    public BigDecimal total(K key) {
+        Integer slot = slots.get(key);
+        return slot == null ? BigDecimal.ZERO : valueOf(slot);
+    }
+
+    public BigDecimal grandTotal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int slot = 0; slot < keys.size(); slot++) {
+            sum = sum.add(valueOf(slot));
+        }
+        return sum;
+    }
+
+    /**
+     * Totals in first-seen key order, with each key mapped through {@code names}
+     * (e.g. category id to category name). Keys mapping to the same name are added together.
+     */
+    public <N> Map<N, BigDecimal> toMap(Function<K, N> names) {
+        Map<N, BigDecimal> totals = new LinkedHashMap<>();
+        for (int slot = 0; slot < keys.size(); slot++) {
+            totals.merge(names.apply(keys.get(slot)), valueOf(slot), BigDecimal::add);
+        }
+        return totals;
+    }
+
+    private int slotOf(K key) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+        int next = keys.size();
+        if (next == cents.length) {
+            cents = Arrays.copyOf(cents, next * 2);
+            scales = Arrays.copyOf(scales, next * 2);
+            exact = Arrays.copyOf(exact, next * 2);
+        }
+        keys.add(key);
+        slots.put(key, next);
+        return next;
+    }
+
+    private void addCents(int slot, long amountCents) {
+        try {
+            cents[slot] = Math.addExact(cents[slot], amountCents);
+        } catch (ArithmeticException overflow) {
+            exact[slot] = BigDecimal.valueOf(cents[slot], 2).add(BigDecimal.valueOf(amountCents, 2));
+        }
+    }
+
+    private void addExact(int slot, BigDecimal amount) {
+        if (exact[slot] == null) {
+            exact[slot] = BigDecimal.valueOf(cents[slot], 2);
+        }
+        exact[slot] = exact[slot].add(amount);
+    }
+
+    private BigDecimal valueOf(int slot) {
+        BigDecimal value = exact[slot] != null ? exact[slot] : BigDecimal.valueOf(cents[slot], 2);
+        // Match the scale plain BigDecimal addition would have produced (the largest input scale)
+        return value.scale() > scales[slot] ? value.setScale(scales[slot]) : value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.pfm.FinanceManager.util;
+
+import com.pfm.FinanceManager.dto.GoalProgress;
+import com.pfm.FinanceManager.entity.SavingsGoal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Goal progress and status rules shared by goal reads and the status evaluator.
+ */
+public final class GoalStatusUtil {
+
+    private GoalStatusUtil() {
+    }
+
+    /**
+     * Net savings inside the goal window (income minus expense), never negative.
+     *
+     * @param progress sums for the goal window, or null when the goal has none yet
+     */
+    public static BigDecimal currentProgress(GoalProgress progress) {
+        if (progress == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal income = progress.getIncome() != null ? progress.getIncome() : BigDecimal.ZERO;
+        BigDecimal expense = progress.getExpense() != null ? progress.getExpense() : BigDecimal.ZERO;
+        return income.subtract(expense).max(BigDecimal.ZERO);
+    }
+
+    public static SavingsGoal.GoalStatus deriveStatus(SavingsGoal goal, BigDecimal currentProgress, LocalDate today) {
+        if (currentProgress.compareTo(goal.getTargetAmount()) >= 0) {
+            return SavingsGoal.GoalStatus.COMPLETED;
+        } else if (today.isAfter(goal.getTargetDate())) {
+            return SavingsGoal.GoalStatus.OVERDUE;
+        }
+        return SavingsGoal.GoalStatus.IN_PROGRESS;
+    }
+}
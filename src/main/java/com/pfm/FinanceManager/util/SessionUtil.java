@@ -1,30 +1,80 @@
 package com.pfm.FinanceManager.util;
 
+import com.pfm.FinanceManager.cache.SessionUserCache;
 import com.pfm.FinanceManager.entity.User;
 import com.pfm.FinanceManager.repository.UserRepository;
+import com.pfm.FinanceManager.security.AuthTokenManager;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class SessionUtil {
 
+    private static final String REQUEST_USER_ATTRIBUTE = SessionUtil.class.getName() + ".user";
+
     private final HttpSession session;
     private final UserRepository userRepo;
+    private final SessionUserCache userCache;
+    private final AuthTokenManager tokens;
 
+    /**
+     * Resolves the logged-in user. Looks in the current request first, then in the
+     * shared user cache, and only goes to the database on a cache miss.
+     * In token mode the user id comes from the verified bearer token and the HTTP session
+     * is never touched (so none is created).
+     */
     public User getSessionUser() {
-        Long userId = (Long) session.getAttribute("user");
+        Long userId = getSessionUserId();
         if (userId == null) {
             log.warn("Attempted to access category without an active session");
             throw new RuntimeException("User not logged in");
         }
-        return userRepo.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("Session user not found in database with ID: {}", userId);
-                    return new RuntimeException("User not found");
-                });
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && request.getAttribute(REQUEST_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached
+                && userId.equals(cached.getId())) {
+            return cached;
+        }
+
+        User user = userCache.get(userId, id -> userRepo.findById(id).orElse(null));
+        if (user == null) {
+            log.error("Session user not found in database with ID: {}", userId);
+            throw new RuntimeException("User not found");
+        }
+        if (request != null) {
+            request.setAttribute(REQUEST_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * The logged-in user's id from the session or bearer token, without loading the user;
+     * null when nobody is logged in.
+     */
+    public Long getSessionUserId() {
+        return tokens.isStateless() ? tokens.currentUserId() : (Long) session.getAttribute("user");
+    }
+
+    /**
+     * How long the current login stays valid if the user sends no further request: what is
+     * left of the bearer token, or the session's idle timeout. Null when there is no limit.
+     */
+    public Duration getSessionTimeLeft() {
+        if (tokens.isStateless()) {
+            Instant expiresAt = tokens.currentExpiry();
+            return expiresAt == null ? null : Duration.between(Instant.now(), expiresAt);
+        }
+        int maxInactiveSeconds = session.getMaxInactiveInterval();
+        return maxInactiveSeconds > 0 ? Duration.ofSeconds(maxInactiveSeconds) : null;
     }
 }
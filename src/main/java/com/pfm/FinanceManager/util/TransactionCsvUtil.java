@@ -0,0 +1,137 @@
+package com.pfm.FinanceManager.util;
+
+import com.pfm.FinanceManager.dto.ImportRowError;
+import com.pfm.FinanceManager.dto.TransactionRequest;
+import com.pfm.FinanceManager.dto.TransactionResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes transactions as CSV with the columns {@code date,amount,category,description}.
+ * One record per line; fields may be quoted with {@code "} and quotes escaped by doubling.
+ * A leading header line is optional and blank lines are ignored. Exported files can be
+ * imported again as-is.
+ */
+@Slf4j
+@Component
+public class TransactionCsvUtil {
+
+    public static final String HEADER = "date,amount,category,description";
+
+    /**
+     * Parses every record. Malformed records are reported in {@code errors} and appear
+     * as {@code null} in the returned list so that list positions match record numbers.
+     * Stops reading and throws as soon as the input has more than {@code maxRows} records.
+     */
+    public List<TransactionRequest> parse(Reader csv, int maxRows, List<ImportRowError> errors) {
+        List<TransactionRequest> rows = new ArrayList<>();
+        BufferedReader reader = csv instanceof BufferedReader buffered ? buffered : new BufferedReader(csv);
+        try {
+            String line;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (firstLine && line.trim().toLowerCase().startsWith("date")) {
+                    firstLine = false;
+                    continue;
+                }
+                firstLine = false;
+                if (rows.size() == maxRows) {
+                    throw new RuntimeException("Import cannot exceed " + maxRows + " rows");
+                }
+                rows.add(parseRecord(line, rows.size() + 1, errors));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.debug("Parsed {} CSV records with {} errors", rows.size(), errors.size());
+        return rows;
+    }
+
+    private TransactionRequest parseRecord(String line, int rowNumber, List<ImportRowError> errors) {
+        List<String> fields = splitLine(line);
+        if (fields.size() < 3 || fields.size() > 4) {
+            errors.add(new ImportRowError(rowNumber, "Expected columns: " + HEADER));
+            return null;
+        }
+
+        TransactionRequest request = new TransactionRequest();
+        try {
+            request.setDate(LocalDate.parse(fields.get(0).trim()));
+        } catch (DateTimeParseException e) {
+            errors.add(new ImportRowError(rowNumber, "Invalid date: " + fields.get(0).trim()));
+            return null;
+        }
+        try {
+            request.setAmount(new BigDecimal(fields.get(1).trim()));
+        } catch (NumberFormatException e) {
+            errors.add(new ImportRowError(rowNumber, "Invalid amount: " + fields.get(1).trim()));
+            return null;
+        }
+        request.setCategory(fields.get(2).trim());
+        if (fields.size() == 4 && !fields.get(3).isEmpty()) {
+            request.setDescription(fields.get(3));
+        }
+        return request;
+    }
+
+    /**
+     * Formats one transaction as a CSV record, without the trailing line break.
+     */
+    public String toCsvRecord(TransactionResponse transaction) {
+        return transaction.getDate() + ","
+                + transaction.getAmount().toPlainString() + ","
+                + quote(transaction.getCategory()) + ","
+                + quote(transaction.getDescription());
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"").replace("\r", " ").replace("\n", " ") + '"';
+    }
+
+    static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
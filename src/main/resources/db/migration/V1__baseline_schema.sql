@@ -0,0 +1,45 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update)
+
+CREATE TABLE users (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name    VARCHAR(255) NOT NULL,
+    username     VARCHAR(255) NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_phone_number UNIQUE (phone_number)
+);
+
+CREATE TABLE categories (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    type        VARCHAR(255) NOT NULL,
+    is_custom   BOOLEAN      NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    CONSTRAINT uk_categories_name_user UNIQUE (name, user_id),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE transactions (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount      NUMERIC(38, 2) NOT NULL,
+    date        DATE           NOT NULL,
+    description VARCHAR(255),
+    type        VARCHAR(255),
+    category_id BIGINT         NOT NULL,
+    user_id     BIGINT         NOT NULL,
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE savings_goals (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    goal_name     VARCHAR(255),
+    target_amount NUMERIC(38, 2),
+    target_date   DATE,
+    start_date    DATE,
+    status        VARCHAR(255) NOT NULL,
+    user_id       BIGINT,
+    CONSTRAINT fk_savings_goals_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,5 @@
+-- Access paths used by TransactionRepository: user + date range, user + category, user + type
+
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, date);
+CREATE INDEX idx_transactions_user_category_date ON transactions (user_id, category_id, date);
+CREATE INDEX idx_transactions_user_type_date ON transactions (user_id, type, date);
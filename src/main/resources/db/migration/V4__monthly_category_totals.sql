@@ -0,0 +1,15 @@
+-- Monthly per-category rollup kept up to date by MonthlyRollupService on every transaction write
+
+CREATE TABLE monthly_category_totals (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT         NOT NULL,
+    period_year       INTEGER        NOT NULL,
+    period_month      INTEGER        NOT NULL,
+    category_id       BIGINT         NOT NULL,
+    type              VARCHAR(255)   NOT NULL,
+    total             NUMERIC(38, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    CONSTRAINT uk_monthly_category_totals_period UNIQUE (user_id, period_year, period_month, category_id, type),
+    CONSTRAINT fk_monthly_category_totals_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_monthly_category_totals_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
@@ -0,0 +1,12 @@
+-- Rebuilds the monthly rollup from the transactions table. Databases that existed before
+-- Flyway are baselined at V1, so their transactions written before the rollup was
+-- introduced have no rollup rows and reports would read them as empty. Rebuilding every
+-- row (rather than filling gaps) also corrects rows that only hold the later transactions.
+
+DELETE FROM monthly_category_totals;
+
+INSERT INTO monthly_category_totals (user_id, period_year, period_month, category_id, type, total, transaction_count)
+SELECT user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), category_id, type, SUM(amount), COUNT(*)
+FROM transactions
+WHERE type IS NOT NULL
+GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), category_id, type;
@@ -0,0 +1,171 @@
+package com.pfm.FinanceManager.analytics;
+
+import com.pfm.FinanceManager.dto.GoalProgress;
+import com.pfm.FinanceManager.entity.SavingsGoal;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.event.CategoryChangedEvent;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.event.TransactionDelta;
+import com.pfm.FinanceManager.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static com.pfm.FinanceManager.analytics.TransactionColumnsTest.row;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ColumnarTransactionStoreTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private TransactionRepository transactionRepo;
+
+    private ColumnarTransactionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnarTransactionStore(transactionRepo, new SimpleMeterRegistry(), true, true, 1_000, Duration.ofMinutes(30));
+    }
+
+    private void givenRows() {
+        when(transactionRepo.findColumnRowsByUserId(1L)).thenReturn(List.of(
+                row(1, MARCH_1, "2500.00", 10, "Salary", TransactionType.INCOME),
+                row(2, MARCH_1, "40.50", 20, "Food", TransactionType.EXPENSE)));
+    }
+
+    @Test
+    void categoryTotals_LoadsUserOnce() {
+        givenRows();
+
+        PeriodTotals march = store.categoryTotals(1L, 2024, 3, 3).orElseThrow();
+        PeriodTotals year = store.categoryTotals(1L, 2024, 1, 12).orElseThrow();
+
+        assertEquals(Map.of("Food", new BigDecimal("40.50")), march.getExpenses());
+        assertEquals(new BigDecimal("2459.50"), year.getNetSavings());
+        verify(transactionRepo, times(1)).findColumnRowsByUserId(1L);
+    }
+
+    @Test
+    void onTransactionChanged_AppliesToLoadedColumns() {
+        givenRows();
+        store.categoryTotals(1L, 2024, 3, 3).orElseThrow();
+
+        store.onTransactionChanged(new TransactionChangedEvent(1L, List.of(
+                new TransactionDelta(3L, MARCH_1, 20L, TransactionType.EXPENSE, new BigDecimal("9.50"), 1))));
+
+        assertEquals(Map.of("Food", new BigDecimal("50.00")), store.categoryTotals(1L, 2024, 3, 3).orElseThrow().getExpenses());
+        verify(transactionRepo, times(1)).findColumnRowsByUserId(1L);
+    }
+
+    @Test
+    void onTransactionChanged_NotLoadedUser_IsIgnored() {
+        store.onTransactionChanged(new TransactionChangedEvent(2L, List.of(
+                new TransactionDelta(3L, MARCH_1, 20L, TransactionType.EXPENSE, new BigDecimal("9.50"), 1))));
+
+        verifyNoInteractions(transactionRepo);
+    }
+
+    @Test
+    void onCategoryChanged_ReloadsOnNextRead() {
+        givenRows();
+        store.categoryTotals(1L, 2024, 3, 3).orElseThrow();
+
+        store.onCategoryChanged(new CategoryChangedEvent(1L, 20L, List.of(YearMonth.of(2024, 3))));
+        store.categoryTotals(1L, 2024, 3, 3).orElseThrow();
+
+        verify(transactionRepo, times(2)).findColumnRowsByUserId(1L);
+    }
+
+    @Test
+    void subCentAmounts_StaySqlOnlyUntilNextWrite() {
+        when(transactionRepo.findColumnRowsByUserId(1L)).thenReturn(List.of(
+                row(1, MARCH_1, "10.005", 20, "Food", TransactionType.EXPENSE)));
+
+        assertTrue(store.categoryTotals(1L, 2024, 3, 3).isEmpty());
+        assertTrue(store.monthlyTotals(1L, YearMonth.of(2024, 3), YearMonth.of(2024, 3)).isEmpty());
+        assertTrue(store.goalProgress(1L, List.of()).isEmpty());
+        verify(transactionRepo, times(1)).findColumnRowsByUserId(1L);
+
+        store.onTransactionChanged(new TransactionChangedEvent(1L, List.of(
+                new TransactionDelta(1L, MARCH_1, 20L, TransactionType.EXPENSE, new BigDecimal("-10.005"), -1))));
+        givenRows();
+
+        assertTrue(store.categoryTotals(1L, 2024, 3, 3).isPresent());
+        verify(transactionRepo, times(2)).findColumnRowsByUserId(1L);
+    }
+
+    @Test
+    void monthlyTotals_OneEntryPerMonth() {
+        givenRows();
+
+        List<PeriodTotals> months = store.monthlyTotals(1L, YearMonth.of(2024, 2), YearMonth.of(2024, 4)).orElseThrow();
+
+        assertEquals(3, months.size());
+        assertTrue(months.get(0).getIncome().isEmpty());
+        assertEquals(new BigDecimal("2500.00"), months.get(1).getIncomeTotal());
+        assertTrue(months.get(2).getExpenses().isEmpty());
+    }
+
+    @Test
+    void goalProgress_MatchesSqlProjectionValues() {
+        givenRows();
+        SavingsGoal inWindow = goal(1L, MARCH_1, LocalDate.of(2024, 12, 31));
+        SavingsGoal empty = goal(2L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        Map<Long, GoalProgress> progress = store.goalProgress(1L, List.of(inWindow, empty)).orElseThrow();
+
+        assertEquals(new BigDecimal("2500.00"), progress.get(1L).getIncome());
+        assertEquals(new BigDecimal("40.50"), progress.get(1L).getExpense());
+        assertEquals(BigDecimal.ZERO, progress.get(2L).getIncome());
+        assertEquals(BigDecimal.ZERO, progress.get(2L).getExpense());
+    }
+
+    @Test
+    void goalProgress_DatesTooFarApart_FallsBackToSql() {
+        when(transactionRepo.findColumnRowsByUserId(1L)).thenReturn(List.of(
+                row(1, LocalDate.of(1950, 1, 1), "10.00", 20, "Food", TransactionType.EXPENSE),
+                row(2, MARCH_1, "40.50", 20, "Food", TransactionType.EXPENSE)));
+
+        assertTrue(store.goalProgress(1L, List.of(goal(1L, MARCH_1, LocalDate.of(2024, 12, 31)))).isEmpty());
+        assertTrue(store.categoryTotals(1L, 2024, 3, 3).isPresent());
+    }
+
+    @Test
+    void disabled_AnswersNothing() {
+        ColumnarTransactionStore disabled = new ColumnarTransactionStore(transactionRepo, new SimpleMeterRegistry(),
+                false, true, 1_000, Duration.ofMinutes(30));
+
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.categoryTotals(1L, 2024, 3, 3).isEmpty());
+        assertTrue(disabled.monthlyTotals(1L, YearMonth.of(2024, 1), YearMonth.of(2024, 2)).isEmpty());
+        assertTrue(disabled.goalProgress(1L, List.of()).isEmpty());
+        verifyNoInteractions(transactionRepo);
+    }
+
+    @Test
+    void enabledOnMultiNode_RefusesToStart() {
+        assertThrows(IllegalStateException.class, () -> new ColumnarTransactionStore(transactionRepo,
+                new SimpleMeterRegistry(), true, false, 1_000, Duration.ofMinutes(30)));
+    }
+
+    private static SavingsGoal goal(Long id, LocalDate start, LocalDate target) {
+        SavingsGoal goal = new SavingsGoal();
+        goal.setId(id);
+        goal.setStartDate(start);
+        goal.setTargetDate(target);
+        return goal;
+    }
+}
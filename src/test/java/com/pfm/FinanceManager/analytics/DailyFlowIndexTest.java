@@ -0,0 +1,140 @@
+package com.pfm.FinanceManager.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyFlowIndexTest {
+
+    private static final int FIRST_DAY = 19_700;
+
+    private static BitSet incomeBits(boolean... income) {
+        BitSet bits = new BitSet(income.length);
+        for (int i = 0; i < income.length; i++) {
+            bits.set(i, income[i]);
+        }
+        return bits;
+    }
+
+    @Test
+    void rangeSums_MatchPlainScan() {
+        Random random = new Random(42);
+        int n = 2_000;
+        int[] days = new int[n];
+        long[] cents = new long[n];
+        BitSet income = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            days[i] = FIRST_DAY + i / 3;
+            cents[i] = 1 + random.nextInt(100_000);
+            income.set(i, random.nextInt(4) == 0);
+        }
+        DailyFlowIndex index = DailyFlowIndex.of(days, cents, income, n);
+
+        for (int query = 0; query < 200; query++) {
+            long from = FIRST_DAY - 10 + random.nextInt(700);
+            long to = from + random.nextInt(400);
+            long expectedIncome = 0;
+            long expectedExpense = 0;
+            int expectedRows = 0;
+            for (int i = 0; i < n; i++) {
+                if (days[i] >= from && days[i] <= to) {
+                    if (income.get(i)) {
+                        expectedIncome += cents[i];
+                    } else {
+                        expectedExpense += cents[i];
+                    }
+                    expectedRows++;
+                }
+            }
+            assertEquals(expectedIncome, index.incomeCents(from, to));
+            assertEquals(expectedExpense, index.expenseCents(from, to));
+            assertEquals(expectedRows, index.rowCount(from, to));
+        }
+    }
+
+    @Test
+    void apply_UpdatesInPlace() {
+        DailyFlowIndex index = DailyFlowIndex.of(new int[]{FIRST_DAY, FIRST_DAY + 5}, new long[]{250_000, 4_050},
+                incomeBits(true, false), 2);
+
+        assertTrue(index.apply(List.of(
+                new DailyFlowIndex.Change(FIRST_DAY + 5, -4_050, false, -1),
+                new DailyFlowIndex.Change(FIRST_DAY + 30, 1_000, false, 1))));
+
+        assertEquals(1_000, index.expenseCents(FIRST_DAY, FIRST_DAY + 30));
+        assertEquals(0, index.rowCount(FIRST_DAY + 1, FIRST_DAY + 29));
+        assertEquals(250_000, index.incomeCents(FIRST_DAY, FIRST_DAY));
+        assertEquals(new DailyFlowIndex.Window(250_000, 1_000, 2), index.window(FIRST_DAY, FIRST_DAY + 30));
+    }
+
+    @Test
+    void apply_OutsideCoveredDays_ChangesNothing() {
+        DailyFlowIndex index = DailyFlowIndex.of(new int[]{FIRST_DAY}, new long[]{100}, incomeBits(false), 1);
+
+        assertFalse(index.apply(List.of(
+                new DailyFlowIndex.Change(FIRST_DAY, 100, false, 1),
+                new DailyFlowIndex.Change(FIRST_DAY + 5_000, 100, false, 1))));
+        assertFalse(index.apply(List.of(new DailyFlowIndex.Change(FIRST_DAY - 5_000, 100, false, 1))));
+        assertEquals(1, index.rowCount(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(100, index.expenseCents(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void apply_Overflow_ThrowsAndChangesNothing() {
+        DailyFlowIndex index = DailyFlowIndex.of(new int[]{FIRST_DAY}, new long[]{Long.MAX_VALUE - 10},
+                incomeBits(true), 1);
+
+        assertThrows(ArithmeticException.class, () -> index.apply(List.of(
+                new DailyFlowIndex.Change(FIRST_DAY, 5, true, 1),
+                new DailyFlowIndex.Change(FIRST_DAY + 1, 10, true, 1))));
+        assertEquals(1, index.rowCount(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE - 10, index.incomeCents(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void window_DuringConcurrentWrites_StaysConsistent() throws Exception {
+        DailyFlowIndex index = DailyFlowIndex.of(new int[]{FIRST_DAY}, new long[]{100}, incomeBits(false), 1);
+        // Each write moves one row between two days, so a consistent read always sees 100 cents in 1 row
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                int from = FIRST_DAY + (i % 2) * 200;
+                int to = FIRST_DAY + ((i + 1) % 2) * 200;
+                index.apply(List.of(new DailyFlowIndex.Change(from, -100, false, -1),
+                        new DailyFlowIndex.Change(to, 100, false, 1)));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            assertEquals(new DailyFlowIndex.Window(0, 100, 1), index.window(FIRST_DAY, FIRST_DAY + 200));
+        }
+        writer.join();
+    }
+
+    @Test
+    void empty_AnswersZeroAndRejectsAdds() {
+        DailyFlowIndex index = DailyFlowIndex.of(new int[0], new long[0], new BitSet(), 0);
+
+        assertEquals(0, index.incomeCents(FIRST_DAY, FIRST_DAY + 365));
+        assertEquals(0, index.rowCount(FIRST_DAY, FIRST_DAY + 365));
+        assertFalse(index.apply(List.of(new DailyFlowIndex.Change(FIRST_DAY, 100, true, 1))));
+    }
+
+    @Test
+    void of_SpanBeyondMaxDays_ReturnsNull() {
+        int lastDay = FIRST_DAY + DailyFlowIndex.MAX_DAYS;
+
+        assertNull(DailyFlowIndex.of(new int[]{FIRST_DAY, lastDay}, new long[]{100, 100}, incomeBits(false, false), 2));
+        assertEquals(3 * 366 + 1, DailyFlowIndex.of(new int[]{FIRST_DAY, FIRST_DAY + 366}, new long[]{100, 100},
+                incomeBits(false, false), 2).capacity());
+    }
+
+    @Test
+    void of_Overflow_Throws() {
+        assertThrows(ArithmeticException.class, () -> DailyFlowIndex.of(new int[]{FIRST_DAY, FIRST_DAY},
+                new long[]{Long.MAX_VALUE, 1}, incomeBits(false, false), 2));
+    }
+}
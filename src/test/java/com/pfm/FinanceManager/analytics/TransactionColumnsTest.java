@@ -0,0 +1,220 @@
+package com.pfm.FinanceManager.analytics;
+
+import com.pfm.FinanceManager.dto.TransactionColumnRow;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.event.TransactionDelta;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionColumnsTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MARCH_15 = LocalDate.of(2024, 3, 15);
+    private static final LocalDate APRIL_2 = LocalDate.of(2024, 4, 2);
+
+    static TransactionColumnRow row(long id, LocalDate date, String amount, long categoryId, String categoryName, TransactionType type) {
+        return new TransactionColumnRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public String getCategoryName() {
+                return categoryName;
+            }
+
+            @Override
+            public TransactionType getType() {
+                return type;
+            }
+        };
+    }
+
+    private static TransactionDelta added(Long id, LocalDate date, String amount, long categoryId, TransactionType type) {
+        return new TransactionDelta(id, date, categoryId, type, new BigDecimal(amount), 1);
+    }
+
+    private static TransactionDelta removed(Long id, LocalDate date, String amount, long categoryId, TransactionType type) {
+        return new TransactionDelta(id, date, categoryId, type, new BigDecimal(amount).negate(), -1);
+    }
+
+    private static long day(LocalDate date) {
+        return date.toEpochDay();
+    }
+
+    private TransactionColumns sample() {
+        return TransactionColumns.of(List.of(
+                row(1, MARCH_1, "2500.00", 10, "Salary", TransactionType.INCOME),
+                row(2, MARCH_1, "40.50", 20, "Food", TransactionType.EXPENSE),
+                row(3, MARCH_15, "59.50", 20, "Food", TransactionType.EXPENSE),
+                row(4, APRIL_2, "30.00", 20, "Food", TransactionType.EXPENSE)));
+    }
+
+    @Test
+    void totals_ScansOnlyTheDateRange() {
+        PeriodTotals march = sample().totals(day(MARCH_1), day(LocalDate.of(2024, 3, 31)));
+
+        assertEquals(Map.of("Salary", new BigDecimal("2500.00")), march.getIncome());
+        assertEquals(Map.of("Food", new BigDecimal("100.00")), march.getExpenses());
+        assertEquals(new BigDecimal("2400.00"), march.getNetSavings());
+    }
+
+    @Test
+    void totals_EmptyRange_UsesUnscaledZero() {
+        PeriodTotals may = sample().totals(day(LocalDate.of(2024, 5, 1)), day(LocalDate.of(2024, 5, 31)));
+
+        assertTrue(may.getIncome().isEmpty());
+        assertTrue(may.getExpenses().isEmpty());
+        assertEquals(BigDecimal.ZERO, may.getNetSavings());
+        assertEquals(0, may.getNetSavings().scale());
+    }
+
+    @Test
+    void totals_SameNameCategoriesAreMerged() {
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                row(1, MARCH_1, "10.00", 20, "Misc", TransactionType.EXPENSE),
+                row(2, MARCH_1, "5.25", 21, "Misc", TransactionType.EXPENSE)));
+
+        assertEquals(Map.of("Misc", new BigDecimal("15.25")), columns.totals(day(MARCH_1), day(MARCH_1)).getExpenses());
+    }
+
+    @Test
+    void of_SubCentAmount_ReturnsNull() {
+        assertNull(TransactionColumns.of(List.of(row(1, MARCH_1, "1.005", 20, "Food", TransactionType.EXPENSE))));
+    }
+
+    @Test
+    void apply_AddAndRemove_KeepsDateOrder() {
+        TransactionColumns columns = sample().apply(List.of(
+                added(5L, MARCH_1, "9.50", 20, TransactionType.EXPENSE),
+                removed(3L, MARCH_15, "59.50", 20, TransactionType.EXPENSE)));
+
+        assertEquals(4, columns.size());
+        assertEquals(Map.of("Food", new BigDecimal("50.00")),
+                columns.totals(day(MARCH_1), day(MARCH_1)).getExpenses());
+        assertTrue(columns.totals(day(MARCH_15), day(MARCH_15)).getExpenses().isEmpty());
+    }
+
+    @Test
+    void apply_UpdateMovesRowToNewDate() {
+        TransactionColumns columns = sample().apply(List.of(
+                removed(4L, APRIL_2, "30.00", 20, TransactionType.EXPENSE),
+                added(4L, MARCH_15, "35.00", 20, TransactionType.EXPENSE)));
+
+        assertEquals(4, columns.size());
+        assertEquals(Map.of("Food", new BigDecimal("94.50")), columns.totals(day(MARCH_15), day(MARCH_15)).getExpenses());
+        assertTrue(columns.totals(day(APRIL_2), day(APRIL_2)).getExpenses().isEmpty());
+    }
+
+    @Test
+    void apply_ReplayedDeltas_ChangeNothing() {
+        TransactionColumns columns = sample();
+        List<TransactionDelta> update = List.of(
+                removed(4L, APRIL_2, "30.00", 20, TransactionType.EXPENSE),
+                added(4L, MARCH_15, "35.00", 20, TransactionType.EXPENSE));
+
+        TransactionColumns once = columns.apply(update);
+        TransactionColumns twice = once.apply(update);
+
+        assertSame(once, twice);
+        assertSame(columns, columns.apply(List.of(added(1L, MARCH_1, "2500.00", 10, TransactionType.INCOME))));
+    }
+
+    @Test
+    void apply_SameDateUpdate_ReplacesAmount() {
+        TransactionColumns columns = sample().apply(List.of(
+                removed(2L, MARCH_1, "40.50", 20, TransactionType.EXPENSE),
+                added(2L, MARCH_1, "41.00", 20, TransactionType.EXPENSE)));
+
+        assertEquals(4, columns.size());
+        assertEquals(Map.of("Food", new BigDecimal("41.00")), columns.totals(day(MARCH_1), day(MARCH_1)).getExpenses());
+    }
+
+    @Test
+    void apply_ImportRowsWithoutIds_RequireReload() {
+        assertNull(sample().apply(List.of(added(null, MARCH_1, "1.00", 20, TransactionType.EXPENSE))));
+    }
+
+    @Test
+    void apply_UnknownCategory_RequiresReload() {
+        assertNull(sample().apply(List.of(added(9L, MARCH_1, "1.00", 99, TransactionType.EXPENSE))));
+    }
+
+    @Test
+    void apply_CategoryWithoutRowsIsForgotten() {
+        TransactionColumns columns = sample().apply(List.of(removed(1L, MARCH_1, "2500.00", 10, TransactionType.INCOME)));
+
+        assertTrue(columns.totals(day(MARCH_1), day(APRIL_2)).getIncome().isEmpty());
+        assertNull(columns.apply(List.of(added(9L, MARCH_1, "1.00", 10, TransactionType.INCOME))));
+    }
+
+    @Test
+    void apply_KeepsFlowIndexInStep() {
+        LocalDate farFuture = LocalDate.of(2030, 1, 1);
+        TransactionColumns columns = sample().apply(List.of(
+                removed(2L, MARCH_1, "40.50", 20, TransactionType.EXPENSE),
+                added(5L, APRIL_2, "10.00", 20, TransactionType.EXPENSE)));
+        TransactionColumns recentered = columns.apply(List.of(added(6L, farFuture, "1.00", 10, TransactionType.INCOME)));
+
+        assertEquals(250_000, columns.flows().incomeCents(day(MARCH_1), day(APRIL_2)));
+        assertEquals(9_950, columns.flows().expenseCents(day(MARCH_1), day(APRIL_2)));
+        assertEquals(4, columns.flows().rowCount(day(MARCH_1), day(APRIL_2)));
+        assertEquals(100, recentered.flows().incomeCents(day(farFuture), day(farFuture)));
+        assertEquals(9_950, recentered.flows().expenseCents(day(MARCH_1), day(APRIL_2)));
+        assertSame(columns, columns.apply(List.of(added(5L, APRIL_2, "10.00", 20, TransactionType.EXPENSE))));
+    }
+
+    @Test
+    void apply_UpdatesFlowIndexInPlace() {
+        TransactionColumns columns = sample();
+        DailyFlowIndex flows = columns.flows();
+
+        TransactionColumns updated = columns.apply(List.of(added(5L, APRIL_2, "10.00", 20, TransactionType.EXPENSE)));
+
+        assertSame(flows, updated.flows());
+        assertEquals(4_000, flows.expenseCents(day(APRIL_2), day(APRIL_2)));
+    }
+
+    @Test
+    void apply_DatesTooFarApart_DropsFlowIndexButKeepsTotals() {
+        LocalDate longAgo = MARCH_1.minusYears(60);
+        TransactionColumns columns = sample().apply(List.of(added(5L, longAgo, "10.00", 20, TransactionType.EXPENSE)));
+
+        assertNull(columns.flows());
+        assertEquals(5, columns.weight());
+        assertEquals(Map.of("Food", new BigDecimal("10.00")), columns.totals(day(longAgo), day(longAgo)).getExpenses());
+
+        TransactionColumns restored = columns.apply(List.of(removed(5L, longAgo, "10.00", 20, TransactionType.EXPENSE)));
+        assertEquals(13_000, restored.flows().expenseCents(day(MARCH_1), day(APRIL_2)));
+        assertEquals(4 + restored.flows().capacity(), restored.weight());
+    }
+
+    @Test
+    void of_TotalsOverflow_ReturnsNull() {
+        assertNull(TransactionColumns.of(List.of(
+                row(1, MARCH_1, "90000000000000000.00", 20, "Food", TransactionType.EXPENSE),
+                row(2, MARCH_1, "90000000000000000.00", 20, "Food", TransactionType.EXPENSE))));
+    }
+}
@@ -0,0 +1,161 @@
+package com.pfm.FinanceManager.cache;
+
+import com.pfm.FinanceManager.controller.GoalController;
+import com.pfm.FinanceManager.util.SessionUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    @Mock
+    private SessionUtil sessionUtil;
+
+    private UserDataVersions versions;
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        versions = new UserDataVersions(new SimpleMeterRegistry(), 100);
+        interceptor = new ConditionalGetInterceptor(versions, sessionUtil, true);
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), name);
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch, boolean[] proceeded) throws Exception {
+        return get("/api/goals", null, ifNoneMatch, proceeded, handler("listing"));
+    }
+
+    private MockHttpServletResponse get(String uri, String query, String ifNoneMatch, boolean[] proceeded,
+                                        HandlerMethod handler) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString(query);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        proceeded[0] = interceptor.preHandle(request, response, handler);
+        return response;
+    }
+
+    @Test
+    void matchingIfNoneMatch_Answers304WithoutRunningHandler() throws Exception {
+        when(sessionUtil.getSessionUserId()).thenReturn(1L);
+        boolean[] proceeded = new boolean[1];
+
+        MockHttpServletResponse first = get(null, proceeded);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertTrue(proceeded[0]);
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"));
+        assertEquals(ConditionalGetInterceptor.CACHE_CONTROL, first.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        MockHttpServletResponse second = get(etag, proceeded);
+        assertFalse(proceeded[0]);
+        assertEquals(304, second.getStatus());
+        assertEquals(etag, second.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void writeChangesTheETag() throws Exception {
+        when(sessionUtil.getSessionUserId()).thenReturn(1L);
+        boolean[] proceeded = new boolean[1];
+        String etag = get(null, proceeded).getHeader(HttpHeaders.ETAG);
+
+        versions.bump(1L);
+        MockHttpServletResponse response = get(etag, proceeded);
+
+        assertTrue(proceeded[0]);
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void otherPathOrQuery_DoesNotMatch() throws Exception {
+        when(sessionUtil.getSessionUserId()).thenReturn(1L);
+        boolean[] proceeded = new boolean[1];
+        String march = get("/api/reports/trend", "from=2024-03&to=2024-03", null, proceeded, handler("listing"))
+                .getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse april = get("/api/reports/trend", "from=2024-04&to=2024-04", march, proceeded, handler("listing"));
+        assertTrue(proceeded[0]);
+        assertNotEquals(march, april.getHeader(HttpHeaders.ETAG));
+
+        get("/api/goals", null, march, proceeded, handler("listing"));
+        assertTrue(proceeded[0]);
+    }
+
+    @Test
+    void foreignGoalId_WithOwnETag_ReachesOwnershipCheck() throws Exception {
+        when(sessionUtil.getSessionUserId()).thenReturn(1L);
+        boolean[] proceeded = new boolean[1];
+        String ownETag = get(null, proceeded).getHeader(HttpHeaders.ETAG);
+        HandlerMethod getGoal = new HandlerMethod(new GoalController(null, null, null), "getGoal", Long.class);
+
+        MockHttpServletResponse response = get("/api/goals/7", null, ownETag, proceeded, getGoal);
+
+        assertTrue(proceeded[0]);
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void multiNode_NeverAnswers304() throws Exception {
+        interceptor = new ConditionalGetInterceptor(versions, sessionUtil, false);
+        boolean[] proceeded = new boolean[1];
+        String etag = "\"" + versions.current(1L) + "\"";
+
+        MockHttpServletResponse response = get(etag, proceeded);
+
+        assertTrue(proceeded[0]);
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        verifyNoInteractions(sessionUtil);
+    }
+
+    @Test
+    void notLoggedIn_LeavesRequestAlone() throws Exception {
+        boolean[] proceeded = new boolean[1];
+
+        MockHttpServletResponse response = get("\"anything\"", proceeded);
+
+        assertTrue(proceeded[0]);
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void unannotatedHandler_IsIgnored() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/transactions/export"),
+                response, handler("export")));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        verifyNoInteractions(sessionUtil);
+    }
+
+    static class Handlers {
+        @ConditionalGet
+        public List<String> listing() {
+            return List.of();
+        }
+
+        public String export() {
+            return "";
+        }
+    }
+}
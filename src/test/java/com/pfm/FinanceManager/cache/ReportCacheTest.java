@@ -0,0 +1,143 @@
+package com.pfm.FinanceManager.cache;
+
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
+import com.pfm.FinanceManager.dto.MonthlyReportResponse;
+import com.pfm.FinanceManager.dto.YearlyReportResponse;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.event.CategoryChangedEvent;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.event.TransactionDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.event.TransactionalApplicationListenerMethodAdapter;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    private SimpleMeterRegistry registry;
+    private ReportCache reportCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        reportCache = new ReportCache(registry, 100, Duration.ofMinutes(10), true);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void transactionChange_EvictsOnlyTouchedMonthAndItsYear() {
+        loadMonthly(2024, 3);
+        loadMonthly(2024, 4);
+        loadYearly(2024);
+        loadYearly(2023);
+
+        reportCache.onTransactionChanged(new TransactionChangedEvent(USER_ID, List.of(
+                new TransactionDelta(5L, LocalDate.of(2024, 3, 15), 2L, TransactionType.EXPENSE, new BigDecimal("10.00"), 1))));
+        loads.set(0);
+
+        loadMonthly(2024, 3);
+        loadYearly(2024);
+        assertEquals(2, loads.get());
+
+        loadMonthly(2024, 4);
+        loadYearly(2023);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void transactionChange_DoesNotTouchOtherUsers() {
+        loadMonthly(2024, 3);
+
+        reportCache.onTransactionChanged(new TransactionChangedEvent(2L, List.of(
+                new TransactionDelta(5L, LocalDate.of(2024, 3, 15), 2L, TransactionType.EXPENSE, new BigDecimal("10.00"), 1))));
+        loads.set(0);
+
+        loadMonthly(2024, 3);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void categoryChange_EvictsEveryListedPeriod() {
+        loadMonthly(2023, 12);
+        loadMonthly(2024, 1);
+        loadMonthly(2024, 2);
+
+        reportCache.onCategoryChanged(new CategoryChangedEvent(USER_ID, 2L,
+                List.of(YearMonth.of(2023, 12), YearMonth.of(2024, 1))));
+        loads.set(0);
+
+        loadMonthly(2023, 12);
+        loadMonthly(2024, 1);
+        loadMonthly(2024, 2);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void multiNode_CachesNothing() {
+        reportCache = new ReportCache(registry, 100, Duration.ofMinutes(10), false);
+
+        loadMonthly(2024, 3);
+        loadMonthly(2024, 3);
+        loadYearly(2024);
+        loadYearly(2024);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void publishesHitAndMissMetrics() {
+        loadMonthly(2024, 3);
+        loadMonthly(2024, 3);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "reports").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "reports").tag("result", "miss").functionCounter().count());
+    }
+
+    private void loadMonthly(int year, int month) {
+        reportCache.getMonthly(USER_ID, year, month, () -> {
+            loads.incrementAndGet();
+            return new MonthlyReportResponse(month, year, new HashMap<>(), new HashMap<>(), BigDecimal.ZERO);
+        });
+    }
+
+    private void loadYearly(int year) {
+        reportCache.getYearly(USER_ID, year, () -> {
+            loads.incrementAndGet();
+            return new YearlyReportResponse(year, new HashMap<>(), new HashMap<>(), BigDecimal.ZERO);
+        });
+    }
+
+    @Test
+    void afterCommitListeners_RunAfterColumnarStoreAndBeforeVersionBump() throws Exception {
+        for (Class<?> event : List.of(TransactionChangedEvent.class, CategoryChangedEvent.class)) {
+            String name = event == TransactionChangedEvent.class ? "onTransactionChanged" : "onCategoryChanged";
+            // Spring runs after-commit synchronizations in ascending order of these values
+            int store = listener(ColumnarTransactionStore.class, name, event).getOrder();
+            int cache = listener(ReportCache.class, name, event).getOrder();
+            int versions = listener(UserDataVersions.class, name, event).getOrder();
+
+            assertTrue(store < cache, name + ": columns must hold the write before reports are evicted");
+            assertTrue(cache < versions, name + ": reports must be evicted before the ETag version moves");
+        }
+    }
+
+    private static TransactionalApplicationListenerMethodAdapter listener(Class<?> type, String name, Class<?> event)
+            throws NoSuchMethodException {
+        Method method = type.getMethod(name, event);
+        return new TransactionalApplicationListenerMethodAdapter(type.getSimpleName(), type, method);
+    }
+}
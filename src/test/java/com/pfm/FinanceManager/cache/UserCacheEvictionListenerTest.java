@@ -0,0 +1,68 @@
+package com.pfm.FinanceManager.cache;
+
+import com.pfm.FinanceManager.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheEvictionListenerTest {
+
+    private SessionUserCache cache;
+    private UserCacheEvictionListener listener;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SessionUserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        listener = new UserCacheEvictionListener(new StaticListableBeanFactory(Map.of("sessionUserCache", cache))
+                .getBeanProvider(SessionUserCache.class));
+        user = new User();
+        user.setId(1L);
+        cache.get(1L, id -> user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evict_InsideTransaction_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.evict(user);
+        assertSame(user, cache.get(1L, id -> null));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(cache.get(1L, id -> null));
+    }
+
+    @Test
+    void evict_RolledBack_KeepsCachedUser() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.evict(user);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertSame(user, cache.get(1L, id -> null));
+    }
+
+    @Test
+    void evict_WithoutTransaction_EvictsImmediately() {
+        listener.evict(user);
+
+        assertNull(cache.get(1L, id -> null));
+    }
+}
@@ -0,0 +1,54 @@
+package com.pfm.FinanceManager.cache;
+
+import com.pfm.FinanceManager.event.CategoryChangedEvent;
+import com.pfm.FinanceManager.event.GoalChangedEvent;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDataVersionsTest {
+
+    private UserDataVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        versions = new UserDataVersions(new SimpleMeterRegistry(), 100);
+    }
+
+    @Test
+    void current_StableUntilAWrite() {
+        String first = versions.current(1L);
+
+        assertEquals(first, versions.current(1L));
+        versions.onTransactionChanged(new TransactionChangedEvent(1L, List.of()));
+        assertNotEquals(first, versions.current(1L));
+    }
+
+    @Test
+    void current_DiffersBetweenUsers() {
+        assertNotEquals(versions.current(1L), versions.current(2L));
+    }
+
+    @Test
+    void writesOnlyMoveTheirUser() {
+        String other = versions.current(2L);
+
+        versions.onCategoryChanged(new CategoryChangedEvent(1L, 10L, List.of(YearMonth.of(2024, 3))));
+        versions.onGoalChanged(new GoalChangedEvent(1L, 5L));
+
+        assertEquals(other, versions.current(2L));
+    }
+
+    @Test
+    void current_NeverRepeatsAcrossInstances() {
+        UserDataVersions restarted = new UserDataVersions(new SimpleMeterRegistry(), 100);
+
+        assertNotEquals(versions.current(1L), restarted.current(1L));
+    }
+}
@@ -0,0 +1,32 @@
+package com.pfm.FinanceManager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityConfigTest {
+
+    private static boolean granted(AuthorizationManager<RequestAuthorizationContext> manager, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setRemoteAddr(remoteAddr);
+        return manager.check(() -> null, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    @Test
+    void fromNetworks_GrantsOnlyListedRanges() {
+        AuthorizationManager<RequestAuthorizationContext> scrapers = SecurityConfig.fromNetworks("127.0.0.1/32", " 10.20.0.0/16 ", "");
+
+        assertTrue(granted(scrapers, "127.0.0.1"));
+        assertTrue(granted(scrapers, "10.20.5.9"));
+        assertFalse(granted(scrapers, "10.21.0.1"));
+        assertFalse(granted(scrapers, "203.0.113.7"));
+    }
+
+    @Test
+    void fromNetworks_NoRanges_DeniesEveryone() {
+        assertFalse(granted(SecurityConfig.fromNetworks(), "127.0.0.1"));
+    }
+}
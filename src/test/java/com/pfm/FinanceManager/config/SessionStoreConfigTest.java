@@ -0,0 +1,49 @@
+package com.pfm.FinanceManager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.session.FlushMode;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.SaveMode;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SessionStoreConfigTest {
+
+    @Test
+    void flushMode_ParsesPropertyValues() {
+        assertEquals(FlushMode.ON_SAVE, SessionStoreConfig.flushMode("on-save"));
+        assertEquals(FlushMode.IMMEDIATE, SessionStoreConfig.flushMode(" immediate "));
+        assertThrows(IllegalArgumentException.class, () -> SessionStoreConfig.flushMode("sometimes"));
+    }
+
+    @Test
+    void jdbcCustomizer_WritesOnlySetAttributesWithConfiguredFlushAndTimeout() {
+        JdbcIndexedSessionRepository repository = mock(JdbcIndexedSessionRepository.class);
+
+        new SessionStoreConfig.Jdbc()
+                .jdbcSessionCustomizer("immediate", Duration.ofMinutes(45))
+                .customize(repository);
+
+        verify(repository).setFlushMode(FlushMode.IMMEDIATE);
+        verify(repository).setSaveMode(SaveMode.ON_SET_ATTRIBUTE);
+        verify(repository).setDefaultMaxInactiveInterval(Duration.ofMinutes(45));
+    }
+
+    @Test
+    void memoryRepository_KeepsUserIdAcrossLookups() {
+        MapSessionRepository repository = new SessionStoreConfig.Memory().sessionRepository(Duration.ofMinutes(30));
+
+        MapSession session = repository.createSession();
+        session.setAttribute("user", 1L);
+        repository.save(session);
+
+        MapSession loaded = repository.findById(session.getId());
+        assertEquals(1L, (Long) loaded.getAttribute("user"));
+        assertEquals(Duration.ofMinutes(30), loaded.getMaxInactiveInterval());
+    }
+}
@@ -0,0 +1,60 @@
+package com.pfm.FinanceManager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelSamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger serviceLogger = context.getLogger("com.pfm.FinanceManager.service.impl.TransactionServiceImpl");
+    private final Logger otherLogger = context.getLogger("com.pfm.FinanceManager.controller.TransactionController");
+    private LevelSamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LevelSamplingTurboFilter();
+        filter.setLoggerPrefix("com.pfm.FinanceManager.service");
+        filter.setInfoSampleRate(10);
+        filter.start();
+    }
+
+    @Test
+    void info_KeepsRoughlyOneInRate() {
+        int kept = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.decide(null, serviceLogger, Level.INFO, "msg {}", null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        assertTrue(kept > 9_000 && kept < 11_000, "kept " + kept);
+    }
+
+    @Test
+    void warnAndError_AlwaysPass() {
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, serviceLogger, Level.WARN, "msg", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, serviceLogger, Level.ERROR, "msg", null, null));
+        }
+    }
+
+    @Test
+    void otherLoggersAndEnabledChecks_AreNotSampled() {
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, otherLogger, Level.INFO, "msg", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, serviceLogger, Level.INFO, null, null, null));
+        }
+    }
+
+    @Test
+    void debug_NotSampledByDefault() {
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, serviceLogger, Level.DEBUG, "msg", null, null));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pfm.FinanceManager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestMetricsFilter filter;
+    private HibernateRequestCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RequestMetricsFilter(registry);
+        counter = new HibernateRequestCounter();
+    }
+
+    @Test
+    void recordsCountsPerMatchedPattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transactions");
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+            loadEntity(1L);
+            loadEntity(2L);
+            loadEntity(3L);
+        });
+
+        DistributionSummary statements = registry.get(RequestMetricsFilter.STATEMENTS)
+                .tag("uri", "/api/transactions").tag("method", "GET").summary();
+        DistributionSummary loaded = registry.get(RequestMetricsFilter.ENTITIES_LOADED)
+                .tag("uri", "/api/transactions").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+        assertEquals(3.0, loaded.totalAmount());
+    }
+
+    @Test
+    void unmatchedRequestsShareOneTagAndCountersReset() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/nope/1"), new MockHttpServletResponse(),
+                (req, res) -> counter.inspect("select 1"));
+        filter.doFilter(new MockHttpServletRequest("GET", "/nope/2"), new MockHttpServletResponse(),
+                (req, res) -> { });
+
+        DistributionSummary statements = registry.get(RequestMetricsFilter.STATEMENTS).tag("uri", "UNKNOWN").summary();
+        assertEquals(2, statements.count());
+        assertEquals(1.0, statements.totalAmount());
+    }
+
+    @Test
+    void nothingCountedOutsideRequest() {
+        counter.inspect("select 1");
+        loadEntity(1L);
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    private void loadEntity(Long id) {
+        // Object-typed id selects the non-deprecated overload Hibernate calls
+        counter.onLoad(new Object(), (Object) id, null, null, null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.pfm.FinanceManager.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates a database that predates Flyway: the schema Hibernate generated before the
+ * migrations existed, with data, baselined at V1 the way {@code baseline-on-migrate} does it.
+ */
+class BaselineMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql"))
+                .execute(dataSource);
+        jdbc.update("INSERT INTO users (id, full_name, username, password, phone_number) "
+                + "VALUES (1, 'Test User', 'test@example.com', 'encodedPassword', '+1234567890')");
+        jdbc.update("INSERT INTO categories (id, name, type, is_custom, user_id) VALUES (1, 'Food', 'EXPENSE', false, 1)");
+        jdbc.update("INSERT INTO categories (id, name, type, is_custom, user_id) VALUES (2, 'Salary', 'INCOME', false, 1)");
+        insertTransaction("2024-01-05", 1, "EXPENSE", "10.50");
+        insertTransaction("2024-01-20", 1, "EXPENSE", "4.50");
+        insertTransaction("2024-01-31", 2, "INCOME", "1000.00");
+        insertTransaction("2024-02-01", 1, "EXPENSE", "7.00");
+    }
+
+    @Test
+    void migrate_BaselinedDatabase_CreatesAndBackfillsRollup() {
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+
+        assertTrue(result.success);
+        // V1 is the baseline itself; only the later migrations run
+        assertEquals(4, result.migrationsExecuted);
+
+        List<Map<String, Object>> rows = jdbc.queryForList(
+                "SELECT period_year, period_month, category_id, type, total, transaction_count "
+                        + "FROM monthly_category_totals ORDER BY period_year, period_month, category_id");
+
+        assertEquals(3, rows.size());
+        assertRollupRow(rows.get(0), 1, 1L, "EXPENSE", "15.00", 2);
+        assertRollupRow(rows.get(1), 1, 2L, "INCOME", "1000.00", 1);
+        assertRollupRow(rows.get(2), 2, 1L, "EXPENSE", "7.00", 1);
+    }
+
+    private void insertTransaction(String date, long categoryId, String type, String amount) {
+        jdbc.update("INSERT INTO transactions (amount, date, type, category_id, user_id) VALUES (?, ?, ?, ?, 1)",
+                new BigDecimal(amount), Date.valueOf(date), type, categoryId);
+    }
+
+    private void assertRollupRow(Map<String, Object> row, int month, long categoryId, String type,
+                                 String total, long count) {
+        assertEquals(2024, ((Number) row.get("PERIOD_YEAR")).intValue());
+        assertEquals(month, ((Number) row.get("PERIOD_MONTH")).intValue());
+        assertEquals(categoryId, ((Number) row.get("CATEGORY_ID")).longValue());
+        assertEquals(type, row.get("TYPE"));
+        assertEquals(0, new BigDecimal(total).compareTo((BigDecimal) row.get("TOTAL")));
+        assertEquals(count, ((Number) row.get("TRANSACTION_COUNT")).longValue());
+    }
+}
@@ -0,0 +1,99 @@
+package com.pfm.FinanceManager.repository;
+
+import com.pfm.FinanceManager.dto.CategoryTotal;
+import com.pfm.FinanceManager.dto.PeriodCategoryTotal;
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.MonthlyCategoryTotal;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class MonthlyCategoryTotalRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MonthlyCategoryTotalRepository rollupRepo;
+
+    private User testUser;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        testUser = entityManager.persist(User.builder()
+                .username("test@example.com")
+                .password("encodedPassword")
+                .fullName("Test User")
+                .phoneNumber("+1234567890")
+                .build());
+        food = entityManager.persist(Category.builder()
+                .name("Food").type(TransactionType.EXPENSE).isCustom(false).user(testUser).build());
+        Category salary = entityManager.persist(Category.builder()
+                .name("Salary").type(TransactionType.INCOME).isCustom(false).user(testUser).build());
+
+        persistTotal(2023, 10, food, "10.00");
+        persistTotal(2023, 11, food, "20.00");
+        persistTotal(2023, 12, salary, "1000.00");
+        persistTotal(2024, 2, food, "30.00");
+        persistTotal(2024, 3, food, "40.00");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void sumByMonthCategoryAndType_RangeSpansYears() {
+        List<PeriodCategoryTotal> rows = rollupRepo.sumByMonthCategoryAndType(testUser, 2023, 2024, 202311, 202402);
+
+        assertEquals(3, rows.size());
+        assertEquals(2023, rows.get(0).getPeriodYear());
+        assertEquals(11, rows.get(0).getPeriodMonth());
+        assertEquals("Salary", rows.get(1).getCategoryName());
+        assertEquals(TransactionType.INCOME, rows.get(1).getType());
+        assertEquals(2024, rows.get(2).getPeriodYear());
+        assertEquals(0, new BigDecimal("30.00").compareTo(rows.get(2).getTotal()));
+    }
+
+    @Test
+    void insertTotal_NewKey_Inserts() {
+        assertTrue(rollupRepo.insertTotal(testUser.getId(), 2024, 4, food.getId(), TransactionType.EXPENSE,
+                new BigDecimal("12.50"), 1));
+
+        List<CategoryTotal> april = rollupRepo.sumByCategoryAndType(testUser, 2024, 4, 4);
+        assertEquals(1, april.size());
+        assertEquals(0, new BigDecimal("12.50").compareTo(april.get(0).getTotal()));
+    }
+
+    @Test
+    void insertTotal_ExistingKey_ReturnsFalseAndTransactionStaysUsable() {
+        assertFalse(rollupRepo.insertTotal(testUser.getId(), 2024, 3, food.getId(), TransactionType.EXPENSE,
+                new BigDecimal("5.00"), 1));
+
+        // The retry the rollup service makes after losing the race
+        assertEquals(1, rollupRepo.addToTotal(testUser, 2024, 3, food, TransactionType.EXPENSE, new BigDecimal("5.00"), 1));
+        List<CategoryTotal> march = rollupRepo.sumByCategoryAndType(testUser, 2024, 3, 3);
+        assertEquals(0, new BigDecimal("45.00").compareTo(march.get(0).getTotal()));
+    }
+
+    private void persistTotal(int year, int month, Category category, String total) {
+        entityManager.persist(MonthlyCategoryTotal.builder()
+                .user(testUser)
+                .year(year)
+                .month(month)
+                .category(category)
+                .type(category.getType())
+                .total(new BigDecimal(total))
+                .transactionCount(1)
+                .build());
+    }
+}
@@ -0,0 +1,114 @@
+package com.pfm.FinanceManager.repository;
+
+import com.pfm.FinanceManager.dto.GoalProgress;
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.SavingsGoal;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class SavingsGoalRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SavingsGoalRepository goalRepo;
+
+    private User testUser;
+    private SavingsGoal shortGoal;
+    private SavingsGoal longGoal;
+    private SavingsGoal emptyGoal;
+
+    @BeforeEach
+    void setUp() {
+        testUser = entityManager.persist(User.builder()
+                .username("test@example.com")
+                .password("encodedPassword")
+                .fullName("Test User")
+                .phoneNumber("+1234567890")
+                .build());
+        User otherUser = entityManager.persist(User.builder()
+                .username("other@example.com")
+                .password("encodedPassword")
+                .fullName("Other User")
+                .phoneNumber("+1234567891")
+                .build());
+        Category salary = entityManager.persist(Category.builder()
+                .name("Salary").type(TransactionType.INCOME).isCustom(false).user(testUser).build());
+        Category food = entityManager.persist(Category.builder()
+                .name("Food").type(TransactionType.EXPENSE).isCustom(false).user(testUser).build());
+
+        shortGoal = persistGoal(testUser, TODAY, TODAY.plusDays(10));
+        longGoal = persistGoal(testUser, TODAY, TODAY.plusDays(40));
+        emptyGoal = persistGoal(testUser, TODAY.plusDays(100), TODAY.plusDays(200));
+
+        persistTransaction(testUser, salary, "500.00", TODAY.plusDays(1));
+        persistTransaction(testUser, food, "120.00", TODAY.plusDays(5));
+        persistTransaction(testUser, salary, "300.00", TODAY.plusDays(20));
+        persistTransaction(testUser, food, "80.00", TODAY.minusDays(1));
+        persistTransaction(otherUser, salary, "999.00", TODAY.plusDays(2));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findProgressByUser_SumsEachGoalWindow() {
+        Map<Long, GoalProgress> progress = goalRepo.findProgressByUser(testUser).stream()
+                .collect(Collectors.toMap(GoalProgress::getGoalId, Function.identity()));
+
+        assertEquals(3, progress.size());
+        assertEquals(0, new BigDecimal("500.00").compareTo(progress.get(shortGoal.getId()).getIncome()));
+        assertEquals(0, new BigDecimal("120.00").compareTo(progress.get(shortGoal.getId()).getExpense()));
+        assertEquals(0, new BigDecimal("800.00").compareTo(progress.get(longGoal.getId()).getIncome()));
+        assertEquals(0, new BigDecimal("120.00").compareTo(progress.get(longGoal.getId()).getExpense()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(progress.get(emptyGoal.getId()).getIncome()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(progress.get(emptyGoal.getId()).getExpense()));
+    }
+
+    @Test
+    void findProgressByGoal_SumsSingleGoalWindow() {
+        GoalProgress progress = goalRepo.findProgressByGoal(shortGoal).orElseThrow();
+
+        assertEquals(shortGoal.getId(), progress.getGoalId());
+        assertEquals(0, new BigDecimal("500.00").compareTo(progress.getIncome()));
+        assertEquals(0, new BigDecimal("120.00").compareTo(progress.getExpense()));
+    }
+
+    private SavingsGoal persistGoal(User user, LocalDate start, LocalDate target) {
+        SavingsGoal goal = new SavingsGoal();
+        goal.setGoalName("Goal until " + target);
+        goal.setTargetAmount(new BigDecimal("1000.00"));
+        goal.setStartDate(start);
+        goal.setTargetDate(target);
+        goal.setUser(user);
+        return entityManager.persist(goal);
+    }
+
+    private void persistTransaction(User user, Category category, String amount, LocalDate date) {
+        entityManager.persist(Transaction.builder()
+                .amount(new BigDecimal(amount))
+                .date(date)
+                .type(category.getType())
+                .category(category)
+                .user(user)
+                .build());
+    }
+}
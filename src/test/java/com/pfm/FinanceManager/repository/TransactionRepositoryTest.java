@@ -0,0 +1,220 @@
+package com.pfm.FinanceManager.repository;
+
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.pfm.FinanceManager.repository.TransactionRepositoryTest$CapturingInspector"
+})
+class TransactionRepositoryTest {
+
+    // The transactions table's access path in an H2 plan: FROM "PUBLIC"."TRANSACTIONS" "T1_0" /* <access> */
+    private static final Pattern TRANSACTIONS_ACCESS =
+            Pattern.compile("TRANSACTIONS\"?\\s+\"?\\w+\"?\\s*/\\*(.*?)\\*/", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private static final int TRANSACTION_COUNT = 20;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepo;
+
+    private Statistics statistics;
+    private User testUser;
+    private Category foodCategory;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        testUser = entityManager.persist(User.builder()
+                .username("test@example.com")
+                .password("encodedPassword")
+                .fullName("Test User")
+                .phoneNumber("+1234567890")
+                .build());
+        foodCategory = entityManager.persist(Category.builder()
+                .name("Food").type(TransactionType.EXPENSE).isCustom(false).user(testUser).build());
+        Category rentCategory = entityManager.persist(Category.builder()
+                .name("Rent").type(TransactionType.EXPENSE).isCustom(false).user(testUser).build());
+        Category salaryCategory = entityManager.persist(Category.builder()
+                .name("Salary").type(TransactionType.INCOME).isCustom(false).user(testUser).build());
+
+        List<Category> categories = List.of(foodCategory, rentCategory, salaryCategory);
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            Category category = categories.get(i % categories.size());
+            entityManager.persist(Transaction.builder()
+                    .amount(new BigDecimal("10.00"))
+                    .date(FIRST_DATE.plusDays(i))
+                    .type(category.getType())
+                    .category(category)
+                    .user(testUser)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void findByUser_SingleStatement() {
+        assertSingleStatement(() -> transactionRepo.findByUser(testUser), TRANSACTION_COUNT);
+    }
+
+    @Test
+    void findByUserOrderByDateDesc_SingleStatement() {
+        assertSingleStatement(() -> transactionRepo.findByUserOrderByDateDesc(testUser), TRANSACTION_COUNT);
+    }
+
+    @Test
+    void findAllByUserAndDateBetween_SingleStatement() {
+        assertSingleStatement(() -> transactionRepo.findAllByUserAndDateBetween(
+                testUser, FIRST_DATE, FIRST_DATE.plusDays(TRANSACTION_COUNT)), TRANSACTION_COUNT);
+    }
+
+    @Test
+    void findByUserAndType_SingleStatement() {
+        List<Transaction> expenses = assertSingleStatement(
+                () -> transactionRepo.findByUserAndType(testUser, TransactionType.EXPENSE), -1);
+        assertFalse(expenses.isEmpty());
+    }
+
+    @Test
+    void findByUserAndDateBetweenAndType_SingleStatement() {
+        List<Transaction> expenses = assertSingleStatement(() -> transactionRepo.findByUserAndDateBetweenAndType(
+                testUser, FIRST_DATE, FIRST_DATE.plusDays(TRANSACTION_COUNT), TransactionType.EXPENSE), -1);
+        assertFalse(expenses.isEmpty());
+    }
+
+    @Test
+    void findByUserAndCategory_SingleStatement() {
+        List<Transaction> food = assertSingleStatement(
+                () -> transactionRepo.findByUserAndCategory(testUser, foodCategory), -1);
+        assertFalse(food.isEmpty());
+    }
+
+    @Test
+    void findFirstPage_SingleStatement() {
+        assertSingleStatement(() -> transactionRepo.findFirstPage(testUser, PageRequest.of(0, 10)), 10);
+    }
+
+    // When H2 drives the join from categories instead, the per-category date index serves the same range
+    @Test
+    void findAllByUserAndDateBetween_UsesCompositeIndex() {
+        String sql = generatedSql(() -> transactionRepo.findAllByUserAndDateBetween(
+                testUser, FIRST_DATE, FIRST_DATE.plusDays(7)));
+
+        assertTransactionsReadThrough(explain(sql, testUser.getId(), FIRST_DATE, FIRST_DATE.plusDays(7)),
+                "IDX_TRANSACTIONS_USER_DATE", "IDX_TRANSACTIONS_USER_CATEGORY_DATE");
+    }
+
+    @Test
+    void findByUserAndDateBetweenAndType_UsesCompositeIndex() {
+        String sql = generatedSql(() -> transactionRepo.findByUserAndDateBetweenAndType(
+                testUser, FIRST_DATE, FIRST_DATE.plusDays(7), TransactionType.EXPENSE));
+
+        assertTransactionsReadThrough(explain(sql, testUser.getId(), FIRST_DATE, FIRST_DATE.plusDays(7),
+                TransactionType.EXPENSE.name()), "IDX_TRANSACTIONS_USER_TYPE_DATE", "IDX_TRANSACTIONS_USER_CATEGORY_DATE");
+    }
+
+    @Test
+    void findByUserAndCategory_UsesCompositeIndex() {
+        String sql = generatedSql(() -> transactionRepo.findByUserAndCategory(testUser, foodCategory));
+
+        assertTransactionsReadThrough(explain(sql, testUser.getId(), foodCategory.getId()),
+                "IDX_TRANSACTIONS_USER_CATEGORY_DATE");
+    }
+
+    /**
+     * The single SELECT Hibernate sends for the repository call, as seen by the statement inspector.
+     */
+    private String generatedSql(Runnable repositoryCall) {
+        CapturingInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        List<String> selects = CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertEquals(1, selects.size(), () -> "Expected one SELECT but got: " + selects);
+        return selects.get(0);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    assertTrue(plan.next());
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private void assertTransactionsReadThrough(String plan, String... indexNames) {
+        Matcher access = TRANSACTIONS_ACCESS.matcher(plan);
+        assertTrue(access.find(), () -> "No access path for transactions in plan: " + plan);
+        String path = access.group(1).toUpperCase();
+        assertFalse(path.contains("TABLESCAN"), () -> "Expected an index scan but got: " + plan);
+        assertTrue(Arrays.stream(indexNames).anyMatch(path::contains),
+                () -> "Expected one of " + Arrays.toString(indexNames) + " in plan: " + plan);
+    }
+
+    /**
+     * Runs the listing, touches every category name the way the DTO mapping does,
+     * and asserts that only the listing statement itself was prepared.
+     */
+    private List<Transaction> assertSingleStatement(Supplier<List<Transaction>> listing, int expectedSize) {
+        List<Transaction> transactions = listing.get();
+        transactions.forEach(t -> assertNotNull(t.getCategory().getName()));
+
+        if (expectedSize >= 0) {
+            assertEquals(expectedSize, transactions.size());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return transactions;
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.pfm.FinanceManager.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthTokenManagerTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final AuthTokenManager tokens = new AuthTokenManager("token", SECRET, Duration.ofMinutes(30));
+
+    @Test
+    void issue_VerifiesToSameUser() {
+        assertTrue(tokens.isStateless());
+        assertEquals(42L, tokens.verify(tokens.issue(42L)));
+    }
+
+    @Test
+    void verify_SharedSecret_AcceptedByAnotherInstance() {
+        AuthTokenManager otherNode = new AuthTokenManager("token", SECRET, Duration.ofMinutes(30));
+
+        assertEquals(7L, otherNode.verify(tokens.issue(7L)));
+    }
+
+    @Test
+    void verify_DifferentSecret_Rejected() {
+        byte[] key = new byte[32];
+        key[0] = 1;
+        AuthTokenManager otherKey = new AuthTokenManager("token", Base64.getEncoder().encodeToString(key), Duration.ofMinutes(30));
+
+        assertNull(otherKey.verify(tokens.issue(7L)));
+    }
+
+    @Test
+    void verify_TamperedPayload_Rejected() {
+        String token = tokens.issue(1L);
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString("2.9999999999".getBytes())
+                + token.substring(token.indexOf('.'));
+
+        assertNull(tokens.verify(forged));
+    }
+
+    @Test
+    void verify_Expired_Rejected() {
+        AuthTokenManager expiring = new AuthTokenManager("token", SECRET, Duration.ZERO);
+
+        assertNull(expiring.verify(expiring.issue(1L)));
+    }
+
+    @Test
+    void expiresAt_IsIssueTimePlusTtl() {
+        Instant before = Instant.now().plus(Duration.ofMinutes(30)).minusSeconds(1);
+
+        Instant expiresAt = tokens.expiresAt(tokens.issue(42L));
+
+        assertFalse(expiresAt.isBefore(before));
+        assertFalse(expiresAt.isAfter(Instant.now().plus(Duration.ofMinutes(30))));
+    }
+
+    @Test
+    void verify_Malformed_Rejected() {
+        assertNull(tokens.verify(null));
+        assertNull(tokens.verify(""));
+        assertNull(tokens.verify("no-dot"));
+        assertNull(tokens.verify("***.***"));
+    }
+
+    @Test
+    void constructor_ShortSecret_Fails() {
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThrows(IllegalStateException.class, () -> new AuthTokenManager("token", shortSecret, Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void constructor_TokenModeWithoutSecret_Fails() {
+        assertThrows(IllegalStateException.class, () -> new AuthTokenManager("token", "", Duration.ofMinutes(30)));
+        assertThrows(IllegalStateException.class, () -> new AuthTokenManager("token", "  ", Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void constructor_SecretNotBase64_Fails() {
+        assertThrows(IllegalStateException.class, () -> new AuthTokenManager("token", "not base64!", Duration.ofMinutes(30)));
+    }
+
+    @Test
+    void sessionMode_IsNotStateless() {
+        assertFalse(new AuthTokenManager("session", "", Duration.ofMinutes(30)).isStateless());
+    }
+}
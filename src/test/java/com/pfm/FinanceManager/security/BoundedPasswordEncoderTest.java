@@ -0,0 +1,112 @@
+package com.pfm.FinanceManager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnHashingThreadAndAreTimed() {
+        encoder = new BoundedPasswordEncoder(new ThreadRecordingEncoder(), 1, 4, registry);
+
+        assertTrue(encoder.encode("secret").startsWith("password-hash-"));
+        assertTrue(encoder.matches("secret", "stored"));
+        assertEquals(1, registry.get("pfm.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(1, registry.get("pfm.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_QueueFull_Rejects429() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, registry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (registry.get("pfm.password.hash.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> encoder.encode("c"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        assertEquals(1.0, registry.get("pfm.password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void delegateFailure_IsRethrownToCaller() {
+        encoder = new BoundedPasswordEncoder(new ThreadRecordingEncoder(), 1, 1, registry);
+
+        RuntimeException ex = assertThrows(IllegalArgumentException.class, () -> encoder.matches("x", null));
+        assertEquals("no hash", ex.getMessage());
+    }
+
+    @Test
+    void upgradeEncoding_Delegates() {
+        encoder = new BoundedPasswordEncoder(new ThreadRecordingEncoder(), 1, 1, registry);
+
+        assertTrue(encoder.upgradeEncoding("old"));
+        assertFalse(encoder.upgradeEncoding("{bcrypt}new"));
+    }
+
+    private static class ThreadRecordingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                throw new IllegalArgumentException("no hash");
+            }
+            return Thread.currentThread().getName().startsWith("password-hash-");
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return !encodedPassword.startsWith("{bcrypt}");
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    }
+}
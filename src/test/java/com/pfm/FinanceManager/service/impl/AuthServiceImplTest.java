@@ -5,6 +5,8 @@ import com.pfm.FinanceManager.dto.LoginRequest;
 import com.pfm.FinanceManager.dto.RegisterRequest;
 import com.pfm.FinanceManager.entity.User;
 import com.pfm.FinanceManager.repository.UserRepository;
+import com.pfm.FinanceManager.security.AuthTokenManager;
+import com.pfm.FinanceManager.service.LiveUpdateService;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +34,12 @@ class AuthServiceImplTest {
     @Mock
     private HttpSession session;
 
+    @Mock
+    private AuthTokenManager tokens;
+
+    @Mock
+    private LiveUpdateService liveUpdates;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -113,6 +121,59 @@ class AuthServiceImplTest {
         verify(session).setAttribute("user", testUser.getId());
     }
 
+    @Test
+    void login_OutdatedHash_RehashesPassword() {
+        when(session.getAttribute("user")).thenReturn(null);
+        when(userRepository.findByUsername(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(loginRequest.getPassword(), "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode(loginRequest.getPassword())).thenReturn("{bcrypt}rehashed");
+
+        ApiResponse response = authService.login(loginRequest);
+
+        assertEquals("Login successful", response.getMessage());
+        assertEquals("{bcrypt}rehashed", testUser.getPassword());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    void login_CurrentHash_DoesNotRehash() {
+        when(session.getAttribute("user")).thenReturn(null);
+        when(userRepository.findByUsername(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(true);
+
+        authService.login(loginRequest);
+
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void login_TokenMode_IssuesTokenWithoutSession() {
+        when(tokens.isStateless()).thenReturn(true);
+        when(userRepository.findByUsername(loginRequest.getUsername())).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword())).thenReturn(true);
+        when(tokens.issue(1L)).thenReturn("signed-token");
+
+        ApiResponse response = authService.login(loginRequest);
+
+        assertEquals("signed-token", response.getToken());
+        assertEquals(testUser.getId(), response.getUserId());
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    void logout_TokenMode_WithValidToken() {
+        when(tokens.isStateless()).thenReturn(true);
+        when(tokens.currentUserId()).thenReturn(1L);
+
+        ApiResponse response = authService.logout();
+
+        assertEquals("Logout successful", response.getMessage());
+        verifyNoInteractions(session);
+        verify(liveUpdates).closeAll(1L);
+    }
+
     @Test
     void login_UserNotFound() {
         when(session.getAttribute("user")).thenReturn(null);
@@ -162,6 +223,7 @@ class AuthServiceImplTest {
         assertEquals("Logout successful", response.getMessage());
         assertNull(response.getUserId());
         verify(session).invalidate();
+        verify(liveUpdates).closeAll(1L);
     }
 
     @Test
@@ -2,19 +2,25 @@ package com.pfm.FinanceManager.service.impl;
 
 import com.pfm.FinanceManager.dto.CategoryRequest;
 import com.pfm.FinanceManager.dto.CategoryResponse;
+import com.pfm.FinanceManager.dto.RollupPeriod;
 import com.pfm.FinanceManager.entity.Category;
 import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.event.CategoryChangedEvent;
 import com.pfm.FinanceManager.repository.CategoryRepository;
+import com.pfm.FinanceManager.repository.MonthlyCategoryTotalRepository;
 import com.pfm.FinanceManager.util.DefaultCategoryUtil;
 import com.pfm.FinanceManager.util.SessionUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +41,12 @@ class CategoryServiceImplTest {
     @Mock
     private DefaultCategoryUtil defaultCategoryUtil;
 
+    @Mock
+    private MonthlyCategoryTotalRepository rollupRepo;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -150,6 +162,35 @@ class CategoryServiceImplTest {
         verify(categoryRepo).save(any(Category.class));
     }
 
+    @Test
+    void update_RenamePublishesRollupPeriods() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(categoryRepo.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryRepo.findByNameAndUser("Updated Category", testUser)).thenReturn(Optional.empty());
+        when(categoryRepo.save(any(Category.class))).thenReturn(testCategory);
+        when(rollupRepo.findPeriodsByCategory(testCategory)).thenReturn(List.of(period(2024, 1), period(2024, 3)));
+
+        categoryService.update(1L, updateRequest);
+
+        ArgumentCaptor<CategoryChangedEvent> event = ArgumentCaptor.forClass(CategoryChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(testUser.getId(), event.getValue().getUserId());
+        assertEquals(List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 3)), event.getValue().getPeriods());
+    }
+
+    @Test
+    void update_DescriptionOnlyLeavesReportsAlone() {
+        updateRequest.setName(testCategory.getName());
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(categoryRepo.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryRepo.findByNameAndUser(testCategory.getName(), testUser)).thenReturn(Optional.of(testCategory));
+        when(categoryRepo.save(any(Category.class))).thenReturn(testCategory);
+
+        categoryService.update(1L, updateRequest);
+
+        verifyNoInteractions(rollupRepo, eventPublisher);
+    }
+
     @Test
     void update_CategoryNotFound() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
@@ -218,4 +259,13 @@ class CategoryServiceImplTest {
 
         assertThrows(RuntimeException.class, () -> categoryService.delete("Food"));
     }
-} 
\ No newline at end of file
+
+    private static RollupPeriod period(int year, int month) {
+        return new RollupPeriod() {
+            @Override
+            public Integer getPeriodYear() { return year; }
+            @Override
+            public Integer getPeriodMonth() { return month; }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.pfm.FinanceManager.service.impl;
+
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
+import com.pfm.FinanceManager.dto.GoalProgress;
+import com.pfm.FinanceManager.entity.SavingsGoal;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.repository.SavingsGoalRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoalStatusServiceImplTest {
+
+    @Mock
+    private SavingsGoalRepository goalRepo;
+
+    @Mock
+    private ColumnarTransactionStore columnarStore;
+
+    @InjectMocks
+    private GoalStatusServiceImpl goalStatusService;
+
+    @Test
+    void evaluateForUser_UpdatesOnlyChangedGoals() {
+        SavingsGoal reached = goal(1L, LocalDate.now().plusMonths(1), SavingsGoal.GoalStatus.IN_PROGRESS);
+        SavingsGoal expired = goal(2L, LocalDate.now().minusDays(1), SavingsGoal.GoalStatus.IN_PROGRESS);
+        SavingsGoal unchanged = goal(3L, LocalDate.now().plusMonths(1), SavingsGoal.GoalStatus.IN_PROGRESS);
+        when(goalRepo.findByUserId(7L)).thenReturn(List.of(reached, expired, unchanged));
+        when(goalRepo.findProgressByGoalIds(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(progress(1L, "1500.00", "200.00"), progress(3L, "100.00", "0")));
+        when(goalRepo.updateStatus(anyCollection(), any(SavingsGoal.GoalStatus.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, List.class).size());
+
+        int changed = goalStatusService.evaluateForUser(7L);
+
+        assertEquals(2, changed);
+        verify(goalRepo).updateStatus(List.of(1L), SavingsGoal.GoalStatus.COMPLETED);
+        verify(goalRepo).updateStatus(List.of(2L), SavingsGoal.GoalStatus.OVERDUE);
+        verify(goalRepo, never()).updateStatus(anyCollection(), eq(SavingsGoal.GoalStatus.IN_PROGRESS));
+        verify(goalRepo, never()).save(any(SavingsGoal.class));
+    }
+
+    @Test
+    void evaluateForUser_UsesColumnarProgressWhenAvailable() {
+        SavingsGoal reached = goal(1L, LocalDate.now().plusMonths(1), SavingsGoal.GoalStatus.IN_PROGRESS);
+        when(goalRepo.findByUserId(7L)).thenReturn(List.of(reached));
+        when(columnarStore.goalProgress(7L, List.of(reached)))
+                .thenReturn(Optional.of(Map.of(1L, progress(1L, "1200.00", "100.00"))));
+        when(goalRepo.updateStatus(List.of(1L), SavingsGoal.GoalStatus.COMPLETED)).thenReturn(1);
+
+        assertEquals(1, goalStatusService.evaluateForUser(7L));
+        verify(goalRepo, never()).findProgressByGoalIds(anyCollection());
+    }
+
+    @Test
+    void evaluateForUser_NoGoals() {
+        when(goalRepo.findByUserId(7L)).thenReturn(Collections.emptyList());
+
+        assertEquals(0, goalStatusService.evaluateForUser(7L));
+        verify(goalRepo, never()).findProgressByGoalIds(anyCollection());
+    }
+
+    @Test
+    void evaluateAll_WalksGoalsInBatches() {
+        List<SavingsGoal> firstBatch = new ArrayList<>();
+        LongStream.rangeClosed(1, GoalStatusServiceImpl.BATCH_SIZE)
+                .forEach(id -> firstBatch.add(goal(id, LocalDate.now().plusMonths(1), SavingsGoal.GoalStatus.IN_PROGRESS)));
+        SavingsGoal last = goal(GoalStatusServiceImpl.BATCH_SIZE + 1L, LocalDate.now().minusDays(1),
+                SavingsGoal.GoalStatus.IN_PROGRESS);
+        PageRequest batch = PageRequest.of(0, GoalStatusServiceImpl.BATCH_SIZE);
+        when(goalRepo.findByIdGreaterThanOrderByIdAsc(0L, batch)).thenReturn(firstBatch);
+        when(goalRepo.findByIdGreaterThanOrderByIdAsc((long) GoalStatusServiceImpl.BATCH_SIZE, batch)).thenReturn(List.of(last));
+        when(goalRepo.findProgressByGoalIds(anyCollection())).thenReturn(Collections.emptyList());
+        when(goalRepo.updateStatus(List.of(last.getId()), SavingsGoal.GoalStatus.OVERDUE)).thenReturn(1);
+
+        int changed = goalStatusService.evaluateAll();
+
+        assertEquals(1, changed);
+        verify(goalRepo, times(2)).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void onTransactionChanged_EvaluatesUserGoals() {
+        when(goalRepo.findByUserId(7L)).thenReturn(Collections.emptyList());
+
+        goalStatusService.onTransactionChanged(new TransactionChangedEvent(7L, Collections.emptyList()));
+
+        verify(goalRepo).findByUserId(7L);
+    }
+
+    private static SavingsGoal goal(Long id, LocalDate targetDate, SavingsGoal.GoalStatus status) {
+        SavingsGoal goal = new SavingsGoal();
+        goal.setId(id);
+        goal.setGoalName("Goal " + id);
+        goal.setTargetAmount(new BigDecimal("1000.00"));
+        goal.setStartDate(LocalDate.now().minusMonths(2));
+        goal.setTargetDate(targetDate);
+        goal.setStatus(status);
+        return goal;
+    }
+
+    private static GoalProgress progress(Long goalId, String income, String expense) {
+        return new GoalProgress() {
+            @Override
+            public Long getGoalId() { return goalId; }
+            @Override
+            public BigDecimal getIncome() { return new BigDecimal(income); }
+            @Override
+            public BigDecimal getExpense() { return new BigDecimal(expense); }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.pfm.FinanceManager.service.impl;
+
+import com.pfm.FinanceManager.dto.MonthlyTotalsChange;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.event.TransactionDelta;
+import com.pfm.FinanceManager.service.SavingsGoalService;
+import com.pfm.FinanceManager.util.SessionUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveUpdateServiceImplTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate APRIL_2 = LocalDate.of(2024, 4, 2);
+
+    @Mock
+    private SessionUtil sessionUtil;
+
+    @Mock
+    private SavingsGoalService goalService;
+
+    private SimpleMeterRegistry registry;
+    private List<Runnable> sends;
+    private LiveUpdateServiceImpl liveUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        sends = new ArrayList<>();
+        liveUpdateService = new LiveUpdateServiceImpl(sessionUtil, goalService, sends::add, registry, Duration.ofMinutes(30), 2);
+    }
+
+    private void loggedIn(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        when(sessionUtil.getSessionUser()).thenReturn(user);
+    }
+
+    private static TransactionDelta delta(Long id, LocalDate date, TransactionType type, String amount, int count) {
+        return new TransactionDelta(id, date, 10L, type, new BigDecimal(amount), count);
+    }
+
+    @Test
+    void subscribe_LimitsStreamsPerUser() {
+        loggedIn(1L);
+
+        assertNotNull(liveUpdateService.subscribe());
+        assertNotNull(liveUpdateService.subscribe());
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> liveUpdateService.subscribe());
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        assertEquals(2.0, registry.get("pfm.live.streams").gauge().value());
+    }
+
+    @Test
+    void closeAll_CompletesOnlyThatUsersStreams() {
+        loggedIn(1L);
+        liveUpdateService.subscribe();
+        liveUpdateService.subscribe();
+        loggedIn(2L);
+        liveUpdateService.subscribe();
+
+        liveUpdateService.closeAll(1L);
+        liveUpdateService.closeAll(3L);
+
+        assertEquals(1.0, registry.get("pfm.live.streams").gauge().value());
+    }
+
+    @Test
+    void heartbeat_HandsSendsToExecutor() {
+        loggedIn(1L);
+        liveUpdateService.subscribe();
+        loggedIn(2L);
+        liveUpdateService.subscribe();
+
+        liveUpdateService.heartbeat();
+
+        assertEquals(2, sends.size());
+        sends.forEach(Runnable::run);
+        assertEquals(2.0, registry.get("pfm.live.streams").gauge().value());
+    }
+
+    @Test
+    void streamTimeout_EndsWithTheLogin() {
+        assertEquals(Duration.ofMinutes(30), liveUpdateService.streamTimeout(null));
+        assertEquals(Duration.ofMinutes(30), liveUpdateService.streamTimeout(Duration.ofHours(1)));
+        assertEquals(Duration.ofMinutes(12), liveUpdateService.streamTimeout(Duration.ofMinutes(12)));
+        assertEquals(Duration.ofSeconds(1), liveUpdateService.streamTimeout(Duration.ZERO));
+    }
+
+    @Test
+    void onTransactionChanged_NoStream_DoesNoWork() {
+        liveUpdateService.onTransactionChanged(new TransactionChangedEvent(1L,
+                List.of(delta(5L, MARCH_1, TransactionType.EXPENSE, "10.00", 1))));
+
+        verifyNoInteractions(goalService);
+    }
+
+    @Test
+    void onTransactionChanged_ReadsGoalsCoveringChangedDates() {
+        loggedIn(1L);
+        liveUpdateService.subscribe();
+
+        liveUpdateService.onTransactionChanged(new TransactionChangedEvent(1L, List.of(
+                delta(5L, MARCH_1, TransactionType.EXPENSE, "-10.00", -1),
+                delta(5L, APRIL_2, TransactionType.EXPENSE, "12.00", 1))));
+
+        verify(goalService).getGoalsCovering(1L, Set.of(MARCH_1, APRIL_2));
+    }
+
+    @Test
+    void onTransactionChanged_OtherUser_IsIgnored() {
+        loggedIn(1L);
+        liveUpdateService.subscribe();
+
+        liveUpdateService.onTransactionChanged(new TransactionChangedEvent(2L,
+                List.of(delta(5L, MARCH_1, TransactionType.EXPENSE, "10.00", 1))));
+
+        verify(goalService, never()).getGoalsCovering(any(), any());
+    }
+
+    @Test
+    void monthlyChanges_SumsPerMonthAndSkipsUnchangedMonths() {
+        List<MonthlyTotalsChange> changes = LiveUpdateServiceImpl.monthlyChanges(List.of(
+                delta(1L, APRIL_2, TransactionType.EXPENSE, "30.00", 1),
+                delta(2L, MARCH_1, TransactionType.INCOME, "2500.00", 1),
+                delta(3L, MARCH_1, TransactionType.EXPENSE, "-40.50", -1),
+                // Description edit: removed and re-added with the same values
+                delta(4L, LocalDate.of(2024, 5, 9), TransactionType.EXPENSE, "-5.00", -1),
+                delta(4L, LocalDate.of(2024, 5, 9), TransactionType.EXPENSE, "5.00", 1)));
+
+        assertEquals(2, changes.size());
+        MonthlyTotalsChange march = changes.get(0);
+        assertEquals(3, march.getMonth());
+        assertEquals(new BigDecimal("2500.00"), march.getIncome());
+        assertEquals(new BigDecimal("-40.50"), march.getExpenses());
+        assertEquals(new BigDecimal("2540.50"), march.getNetSavings());
+        assertEquals(0, march.getTransactions());
+        MonthlyTotalsChange april = changes.get(1);
+        assertEquals(4, april.getMonth());
+        assertEquals(new BigDecimal("-30.00"), april.getNetSavings());
+        assertEquals(1, april.getTransactions());
+    }
+}
@@ -0,0 +1,124 @@
+package com.pfm.FinanceManager.service.impl;
+
+import com.pfm.FinanceManager.entity.Category;
+import com.pfm.FinanceManager.entity.MonthlyCategoryTotal;
+import com.pfm.FinanceManager.entity.Transaction;
+import com.pfm.FinanceManager.entity.TransactionType;
+import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.repository.MonthlyCategoryTotalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceImplTest {
+
+    @Mock
+    private MonthlyCategoryTotalRepository rollupRepo;
+
+    @InjectMocks
+    private MonthlyRollupServiceImpl rollupService;
+
+    private User testUser;
+    private Category testCategory;
+    private Transaction testTransaction;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+
+        testCategory = new Category();
+        testCategory.setId(1L);
+        testCategory.setName("Food");
+        testCategory.setType(TransactionType.EXPENSE);
+        testCategory.setUser(testUser);
+
+        testTransaction = new Transaction();
+        testTransaction.setId(1L);
+        testTransaction.setAmount(new BigDecimal("100.00"));
+        testTransaction.setType(TransactionType.EXPENSE);
+        testTransaction.setCategory(testCategory);
+        testTransaction.setDate(LocalDate.of(2024, 3, 20));
+        testTransaction.setUser(testUser);
+    }
+
+    @Test
+    void record_ExistingRow() {
+        when(rollupRepo.addToTotal(testUser, 2024, 3, testCategory, TransactionType.EXPENSE, new BigDecimal("100.00"), 1))
+                .thenReturn(1);
+
+        rollupService.record(testTransaction);
+
+        verify(rollupRepo, never()).save(any(MonthlyCategoryTotal.class));
+    }
+
+    @Test
+    void record_NewRow() {
+        when(rollupRepo.addToTotal(testUser, 2024, 3, testCategory, TransactionType.EXPENSE, new BigDecimal("100.00"), 1))
+                .thenReturn(0);
+        when(rollupRepo.insertTotal(1L, 2024, 3, 1L, TransactionType.EXPENSE, new BigDecimal("100.00"), 1))
+                .thenReturn(true);
+
+        rollupService.record(testTransaction);
+
+        verify(rollupRepo, times(1)).addToTotal(any(), anyInt(), anyInt(), any(), any(), any(), anyLong());
+        verify(rollupRepo, never()).save(any(MonthlyCategoryTotal.class));
+    }
+
+    @Test
+    void record_ConcurrentFirstWrite_AddsToWinnersRow() {
+        when(rollupRepo.addToTotal(testUser, 2024, 3, testCategory, TransactionType.EXPENSE, new BigDecimal("100.00"), 1))
+                .thenReturn(0, 1);
+        when(rollupRepo.insertTotal(1L, 2024, 3, 1L, TransactionType.EXPENSE, new BigDecimal("100.00"), 1))
+                .thenReturn(false);
+
+        rollupService.record(testTransaction);
+
+        verify(rollupRepo, times(2)).addToTotal(testUser, 2024, 3, testCategory, TransactionType.EXPENSE, new BigDecimal("100.00"), 1);
+    }
+
+    @Test
+    void reverse_SubtractsAndDropsEmptyRow() {
+        when(rollupRepo.addToTotal(testUser, 2024, 3, testCategory, TransactionType.EXPENSE, new BigDecimal("-100.00"), -1))
+                .thenReturn(1);
+
+        rollupService.reverse(testTransaction);
+
+        verify(rollupRepo).deleteIfEmpty(testUser, 2024, 3, testCategory, TransactionType.EXPENSE);
+        verify(rollupRepo, never()).save(any(MonthlyCategoryTotal.class));
+    }
+
+    @Test
+    void updateLegacyNullTypeRow_SkipsRollup() {
+        testTransaction.setType(null);
+
+        // An update reverses the old values and records the new ones
+        rollupService.reverse(testTransaction);
+        testTransaction.setAmount(new BigDecimal("150.00"));
+        rollupService.record(testTransaction);
+
+        verifyNoInteractions(rollupRepo);
+    }
+
+    @Test
+    void deleteLegacyNullTypeRow_SkipsRollup() {
+        testTransaction.setType(null);
+
+        rollupService.reverse(testTransaction);
+
+        verifyNoInteractions(rollupRepo);
+    }
+}
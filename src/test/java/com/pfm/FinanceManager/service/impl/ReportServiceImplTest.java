@@ -1,46 +1,61 @@
 package com.pfm.FinanceManager.service.impl;
 
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
+import com.pfm.FinanceManager.analytics.PeriodTotals;
+import com.pfm.FinanceManager.cache.ReportCache;
+import com.pfm.FinanceManager.dto.CategoryTotal;
 import com.pfm.FinanceManager.dto.MonthlyReportResponse;
+import com.pfm.FinanceManager.dto.PeriodCategoryTotal;
+import com.pfm.FinanceManager.dto.TrendPoint;
+import com.pfm.FinanceManager.dto.TrendReportResponse;
 import com.pfm.FinanceManager.dto.YearlyReportResponse;
-import com.pfm.FinanceManager.entity.Category;
-import com.pfm.FinanceManager.entity.Transaction;
 import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
-import com.pfm.FinanceManager.repository.TransactionRepository;
+import com.pfm.FinanceManager.repository.MonthlyCategoryTotalRepository;
 import com.pfm.FinanceManager.util.SessionUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.Duration;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ReportServiceImplTest {
 
     @Mock
-    private TransactionRepository transactionRepo;
+    private MonthlyCategoryTotalRepository rollupRepo;
 
     @Mock
     private SessionUtil sessionUtil;
 
+    @Spy
+    private ReportCache reportCache = new ReportCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), true);
+
+    @Mock
+    private ColumnarTransactionStore columnarStore;
+
     @InjectMocks
     private ReportServiceImpl reportService;
 
     private User testUser;
-    private Transaction expenseTransaction;
-    private Transaction incomeTransaction;
-    private Category foodCategory;
-    private Category salaryCategory;
+    private CategoryTotal foodTotal;
+    private CategoryTotal salaryTotal;
 
     @BeforeEach
     void setUp() {
@@ -50,40 +65,34 @@ class ReportServiceImplTest {
         testUser.setFullName("Test User");
         testUser.setPhoneNumber("+1234567890");
 
-        foodCategory = new Category();
-        foodCategory.setId(1L);
-        foodCategory.setName("Food");
-        foodCategory.setType(TransactionType.EXPENSE);
-        foodCategory.setUser(testUser);
-
-        salaryCategory = new Category();
-        salaryCategory.setId(2L);
-        salaryCategory.setName("Salary");
-        salaryCategory.setType(TransactionType.INCOME);
-        salaryCategory.setUser(testUser);
-
-        expenseTransaction = new Transaction();
-        expenseTransaction.setId(1L);
-        expenseTransaction.setAmount(new BigDecimal("100.00"));
-        expenseTransaction.setType(TransactionType.EXPENSE);
-        expenseTransaction.setCategory(foodCategory);
-        expenseTransaction.setUser(testUser);
-        expenseTransaction.setDate(LocalDate.now());
-
-        incomeTransaction = new Transaction();
-        incomeTransaction.setId(2L);
-        incomeTransaction.setAmount(new BigDecimal("1000.00"));
-        incomeTransaction.setType(TransactionType.INCOME);
-        incomeTransaction.setCategory(salaryCategory);
-        incomeTransaction.setUser(testUser);
-        incomeTransaction.setDate(LocalDate.now());
+        foodTotal = categoryTotal("Food", TransactionType.EXPENSE, new BigDecimal("100.00"));
+        salaryTotal = categoryTotal("Salary", TransactionType.INCOME, new BigDecimal("1000.00"));
+    }
+
+    private static CategoryTotal categoryTotal(String name, TransactionType type, BigDecimal total) {
+        return new CategoryTotal() {
+            @Override
+            public String getCategoryName() {
+                return name;
+            }
+
+            @Override
+            public TransactionType getType() {
+                return type;
+            }
+
+            @Override
+            public BigDecimal getTotal() {
+                return total;
+            }
+        };
     }
 
     @Test
     void getMonthlyReport_Success() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
-        when(transactionRepo.findAllByUserAndDateBetween(any(), any(), any()))
-                .thenReturn(Arrays.asList(expenseTransaction, incomeTransaction));
+        when(rollupRepo.sumByCategoryAndType(testUser, 2024, 3, 3))
+                .thenReturn(Arrays.asList(foodTotal, salaryTotal));
 
         MonthlyReportResponse response = reportService.getMonthlyReport(2024, 3);
 
@@ -95,10 +104,47 @@ class ReportServiceImplTest {
         assertEquals(new BigDecimal("900.00"), response.getNetSavings());
     }
 
+    private static PeriodTotals columnTotals(String income, String expense) {
+        PeriodTotals totals = mock(PeriodTotals.class);
+        lenient().when(totals.getIncome()).thenReturn(Map.of("Salary", new BigDecimal(income)));
+        lenient().when(totals.getExpenses()).thenReturn(Map.of("Food", new BigDecimal(expense)));
+        lenient().when(totals.getIncomeTotal()).thenReturn(new BigDecimal(income));
+        lenient().when(totals.getExpenseTotal()).thenReturn(new BigDecimal(expense));
+        lenient().when(totals.getNetSavings()).thenReturn(new BigDecimal(income).subtract(new BigDecimal(expense)));
+        return totals;
+    }
+
+    @Test
+    void getMonthlyReport_ColumnarStoreEnabled_SkipsRollupQuery() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        PeriodTotals march = columnTotals("1000.00", "100.00");
+        when(columnarStore.categoryTotals(1L, 2024, 3, 3)).thenReturn(Optional.of(march));
+
+        MonthlyReportResponse response = reportService.getMonthlyReport(2024, 3);
+
+        assertEquals(new BigDecimal("1000.00"), response.getTotalIncome().get("Salary"));
+        assertEquals(new BigDecimal("900.00"), response.getNetSavings());
+        verifyNoInteractions(rollupRepo);
+    }
+
+    @Test
+    void getTrend_ColumnarStoreEnabled_UsesMonthlyColumns() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        List<PeriodTotals> months = List.of(columnTotals("1000.00", "100.00"), columnTotals("500.00", "600.00"));
+        when(columnarStore.monthlyTotals(1L, YearMonth.of(2024, 1), YearMonth.of(2024, 2))).thenReturn(Optional.of(months));
+
+        TrendReportResponse response = reportService.getTrend(YearMonth.of(2024, 1), YearMonth.of(2024, 2), true);
+
+        assertEquals(new BigDecimal("900.00"), response.getPoints().get(0).getNetSavings());
+        assertEquals(new BigDecimal("-100.00"), response.getPoints().get(1).getNetSavings());
+        assertEquals(new BigDecimal("600.00"), response.getPoints().get(1).getExpensesByCategory().get("Food"));
+        verifyNoInteractions(rollupRepo);
+    }
+
     @Test
     void getMonthlyReport_NoTransactions() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
-        when(transactionRepo.findAllByUserAndDateBetween(any(), any(), any()))
+        when(rollupRepo.sumByCategoryAndType(any(), anyInt(), anyInt(), anyInt()))
                 .thenReturn(List.of());
 
         MonthlyReportResponse response = reportService.getMonthlyReport(2024, 3);
@@ -111,11 +157,21 @@ class ReportServiceImplTest {
         assertEquals(BigDecimal.ZERO, response.getNetSavings());
     }
 
+    @Test
+    void getMonthlyReport_RejectsMonthOutOfRange() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+
+        assertThrows(RuntimeException.class, () -> reportService.getMonthlyReport(2024, 13));
+        assertThrows(RuntimeException.class, () -> reportService.getMonthlyReport(2024, 0));
+        verifyNoInteractions(rollupRepo, columnarStore);
+        verify(reportCache, never()).getMonthly(any(), anyInt(), anyInt(), any());
+    }
+
     @Test
     void getYearlyReport_Success() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
-        when(transactionRepo.findAllByUserAndDateBetween(any(), any(), any()))
-                .thenReturn(Arrays.asList(expenseTransaction, incomeTransaction));
+        when(rollupRepo.sumByCategoryAndType(testUser, 2024, 1, 12))
+                .thenReturn(Arrays.asList(foodTotal, salaryTotal));
 
         YearlyReportResponse response = reportService.getYearlyReport(2024);
 
@@ -129,7 +185,7 @@ class ReportServiceImplTest {
     @Test
     void getYearlyReport_NoTransactions() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
-        when(transactionRepo.findAllByUserAndDateBetween(any(), any(), any()))
+        when(rollupRepo.sumByCategoryAndType(any(), anyInt(), anyInt(), anyInt()))
                 .thenReturn(List.of());
 
         YearlyReportResponse response = reportService.getYearlyReport(2024);
@@ -140,4 +196,96 @@ class ReportServiceImplTest {
         assertTrue(response.getTotalExpenses().isEmpty());
         assertEquals(BigDecimal.ZERO, response.getNetSavings());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getMonthlyReport_RepeatedCallsServedFromCache() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(rollupRepo.sumByCategoryAndType(testUser, 2024, 3, 3))
+                .thenReturn(Arrays.asList(foodTotal, salaryTotal));
+
+        MonthlyReportResponse first = reportService.getMonthlyReport(2024, 3);
+        MonthlyReportResponse second = reportService.getMonthlyReport(2024, 3);
+
+        assertSame(first, second);
+        verify(rollupRepo, times(1)).sumByCategoryAndType(testUser, 2024, 3, 3);
+    }
+
+    @Test
+    void getMonthlyReport_RecomputedAfterMonthEvicted() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(rollupRepo.sumByCategoryAndType(testUser, 2024, 3, 3))
+                .thenReturn(List.of(foodTotal))
+                .thenReturn(Arrays.asList(foodTotal, salaryTotal));
+
+        reportService.getMonthlyReport(2024, 3);
+        reportCache.evictMonths(testUser.getId(), List.of(YearMonth.of(2024, 3)));
+        MonthlyReportResponse response = reportService.getMonthlyReport(2024, 3);
+
+        assertEquals(new BigDecimal("900.00"), response.getNetSavings());
+        verify(rollupRepo, times(2)).sumByCategoryAndType(testUser, 2024, 3, 3);
+    }
+
+    @Test
+    void getTrend_FillsEveryMonthAcrossYearBoundary() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(rollupRepo.sumByMonthCategoryAndType(testUser, 2023, 2024, 202311, 202402)).thenReturn(List.of(
+                periodTotal(2023, 11, "Salary", TransactionType.INCOME, "1000.00"),
+                periodTotal(2023, 11, "Food", TransactionType.EXPENSE, "250.00"),
+                periodTotal(2024, 2, "Food", TransactionType.EXPENSE, "80.00")));
+
+        TrendReportResponse response = reportService.getTrend(YearMonth.of(2023, 11), YearMonth.of(2024, 2), false);
+
+        List<TrendPoint> points = response.getPoints();
+        assertEquals(4, points.size());
+        assertEquals(2023, points.get(0).getYear());
+        assertEquals(11, points.get(0).getMonth());
+        assertEquals(new BigDecimal("750.00"), points.get(0).getNetSavings());
+        assertEquals(BigDecimal.ZERO, points.get(1).getIncome());
+        assertEquals(BigDecimal.ZERO, points.get(2).getNetSavings());
+        assertEquals(new BigDecimal("-80.00"), points.get(3).getNetSavings());
+        assertNull(points.get(0).getIncomeByCategory());
+        verify(rollupRepo, times(1)).sumByMonthCategoryAndType(any(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTrend_ByCategory() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(rollupRepo.sumByMonthCategoryAndType(testUser, 2024, 2024, 202401, 202401)).thenReturn(List.of(
+                periodTotal(2024, 1, "Salary", TransactionType.INCOME, "1000.00"),
+                periodTotal(2024, 1, "Food", TransactionType.EXPENSE, "250.00"),
+                periodTotal(2024, 1, "Rent", TransactionType.EXPENSE, "500.00")));
+
+        TrendPoint point = reportService.getTrend(YearMonth.of(2024, 1), YearMonth.of(2024, 1), true).getPoints().get(0);
+
+        assertEquals(new BigDecimal("1000.00"), point.getIncomeByCategory().get("Salary"));
+        assertEquals(new BigDecimal("500.00"), point.getExpensesByCategory().get("Rent"));
+        assertEquals(new BigDecimal("750.00"), point.getExpenses());
+        assertEquals(new BigDecimal("250.00"), point.getNetSavings());
+    }
+
+    @Test
+    void getTrend_RejectsInvalidRanges() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+
+        assertThrows(RuntimeException.class,
+                () -> reportService.getTrend(YearMonth.of(2024, 2), YearMonth.of(2024, 1), false));
+        assertThrows(RuntimeException.class,
+                () -> reportService.getTrend(YearMonth.of(1900, 1), YearMonth.of(2024, 1), false));
+        verifyNoInteractions(rollupRepo);
+    }
+
+    private static PeriodCategoryTotal periodTotal(int year, int month, String name, TransactionType type, String total) {
+        return new PeriodCategoryTotal() {
+            @Override
+            public Integer getPeriodYear() { return year; }
+            @Override
+            public Integer getPeriodMonth() { return month; }
+            @Override
+            public String getCategoryName() { return name; }
+            @Override
+            public TransactionType getType() { return type; }
+            @Override
+            public BigDecimal getTotal() { return new BigDecimal(total); }
+        };
+    }
+}
@@ -1,14 +1,14 @@
 package com.pfm.FinanceManager.service.impl;
 
+import com.pfm.FinanceManager.analytics.ColumnarTransactionStore;
 import com.pfm.FinanceManager.dto.CreateGoalRequest;
+import com.pfm.FinanceManager.dto.GoalProgress;
 import com.pfm.FinanceManager.dto.GoalResponse;
 import com.pfm.FinanceManager.dto.UpdateGoalRequest;
 import com.pfm.FinanceManager.entity.SavingsGoal;
-import com.pfm.FinanceManager.entity.Transaction;
-import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.event.GoalChangedEvent;
 import com.pfm.FinanceManager.repository.SavingsGoalRepository;
-import com.pfm.FinanceManager.repository.TransactionRepository;
 import com.pfm.FinanceManager.util.SessionUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,12 +16,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,10 +37,13 @@ class SavingsGoalServiceImplTest {
     private SavingsGoalRepository goalRepo;
 
     @Mock
-    private TransactionRepository transactionRepo;
+    private SessionUtil sessionUtil;
 
     @Mock
-    private SessionUtil sessionUtil;
+    private ColumnarTransactionStore columnarStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private SavingsGoalServiceImpl savingsGoalService;
@@ -98,6 +103,7 @@ class SavingsGoalServiceImplTest {
         assertEquals(createRequest.getStartDate(), result.getStartDate());
         assertEquals(SavingsGoal.GoalStatus.IN_PROGRESS, result.getStatus());
         assertEquals(testUser, result.getUser());
+        verify(eventPublisher).publishEvent(any(GoalChangedEvent.class));
 
         verify(goalRepo).save(any(SavingsGoal.class));
     }
@@ -106,6 +112,8 @@ class SavingsGoalServiceImplTest {
     void getAllGoals_Success() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
         when(goalRepo.findByUser(testUser)).thenReturn(Arrays.asList(testGoal));
+        when(goalRepo.findProgressByUser(testUser))
+                .thenReturn(List.of(progress(1L, new BigDecimal("600.00"), new BigDecimal("350.00"))));
 
         List<GoalResponse> results = savingsGoalService.getAllGoals();
 
@@ -113,18 +121,70 @@ class SavingsGoalServiceImplTest {
         assertEquals(1, results.size());
         assertEquals(testGoal.getGoalName(), results.get(0).getGoalName());
         assertEquals(testGoal.getTargetAmount(), results.get(0).getTargetAmount());
+        assertEquals(new BigDecimal("250.00"), results.get(0).getCurrentProgress());
+        assertEquals(25.0, results.get(0).getProgressPercentage());
+    }
+
+    @Test
+    void getAllGoals_ColumnarStoreEnabled_SkipsProgressQuery() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(goalRepo.findByUser(testUser)).thenReturn(List.of(testGoal));
+        when(columnarStore.goalProgress(testUser.getId(), List.of(testGoal)))
+                .thenReturn(Optional.of(Map.of(1L, progress(1L, new BigDecimal("600.00"), new BigDecimal("350.00")))));
+
+        List<GoalResponse> results = savingsGoalService.getAllGoals();
+
+        assertEquals(new BigDecimal("250.00"), results.get(0).getCurrentProgress());
+        verify(goalRepo, never()).findProgressByUser(any());
+    }
+
+    @Test
+    void getGoalsCovering_OnlyGoalsWhoseWindowContainsADate() {
+        SavingsGoal past = new SavingsGoal();
+        past.setId(2L);
+        past.setGoalName("Past Goal");
+        past.setTargetAmount(new BigDecimal("500.00"));
+        past.setStartDate(LocalDate.now().minusYears(2));
+        past.setTargetDate(LocalDate.now().minusYears(1));
+        when(goalRepo.findByUserId(1L)).thenReturn(List.of(testGoal, past));
+        when(goalRepo.findProgressByGoalIds(List.of(1L)))
+                .thenReturn(List.of(progress(1L, new BigDecimal("600.00"), new BigDecimal("350.00"))));
+
+        List<GoalResponse> results = savingsGoalService.getGoalsCovering(1L, List.of(LocalDate.now().plusDays(1)));
+
+        assertEquals(1, results.size());
+        assertEquals(1L, results.get(0).getId());
+        assertEquals(25.0, results.get(0).getProgressPercentage());
+        verifyNoInteractions(sessionUtil);
+    }
+
+    @Test
+    void getAllGoals_GoalWithoutProgressRowCountsAsZero() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(goalRepo.findByUser(testUser)).thenReturn(Arrays.asList(testGoal));
+        when(goalRepo.findProgressByUser(testUser)).thenReturn(Collections.emptyList());
+
+        List<GoalResponse> results = savingsGoalService.getAllGoals();
+
+        assertEquals(BigDecimal.ZERO, results.get(0).getCurrentProgress());
+        assertEquals(SavingsGoal.GoalStatus.IN_PROGRESS, results.get(0).getStatus());
     }
 
     @Test
     void getGoalById_Success() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
         when(goalRepo.findById(1L)).thenReturn(Optional.of(testGoal));
+        when(goalRepo.findProgressByGoal(testGoal))
+                .thenReturn(Optional.of(progress(1L, new BigDecimal("1200.00"), new BigDecimal("100.00"))));
 
         GoalResponse result = savingsGoalService.getGoalById(1L);
 
         assertNotNull(result);
         assertEquals(testGoal.getGoalName(), result.getGoalName());
         assertEquals(testGoal.getTargetAmount(), result.getTargetAmount());
+        assertEquals(SavingsGoal.GoalStatus.COMPLETED, result.getStatus());
+        // Status changes are persisted by GoalStatusService, never by reads
+        verify(goalRepo, never()).save(any(SavingsGoal.class));
     }
 
     @Test
@@ -147,9 +207,23 @@ class SavingsGoalServiceImplTest {
         assertNotNull(result);
         assertEquals(updateRequest.getTargetAmount(), result.getTargetAmount());
         assertEquals(updateRequest.getTargetDate(), result.getTargetDate());
+        assertEquals(SavingsGoal.GoalStatus.IN_PROGRESS, result.getStatus());
         verify(goalRepo).save(any(SavingsGoal.class));
     }
 
+    @Test
+    void updateGoal_LowerTargetCompletesGoal() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(goalRepo.findById(1L)).thenReturn(Optional.of(testGoal));
+        when(goalRepo.findProgressByGoal(testGoal))
+                .thenReturn(Optional.of(progress(1L, new BigDecimal("1600.00"), BigDecimal.ZERO)));
+        when(goalRepo.save(any(SavingsGoal.class))).thenReturn(testGoal);
+
+        SavingsGoal result = savingsGoalService.updateGoal(1L, updateRequest);
+
+        assertEquals(SavingsGoal.GoalStatus.COMPLETED, result.getStatus());
+    }
+
     @Test
     void deleteGoal_Success() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
@@ -161,4 +235,15 @@ class SavingsGoalServiceImplTest {
         assertEquals("Goal deleted successfully", result);
         verify(goalRepo).delete(testGoal);
     }
-} 
\ No newline at end of file
+
+    private static GoalProgress progress(Long goalId, BigDecimal income, BigDecimal expense) {
+        return new GoalProgress() {
+            @Override
+            public Long getGoalId() { return goalId; }
+            @Override
+            public BigDecimal getIncome() { return income; }
+            @Override
+            public BigDecimal getExpense() { return expense; }
+        };
+    }
+}
@@ -1,5 +1,10 @@
 package com.pfm.FinanceManager.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pfm.FinanceManager.dto.ExportFormat;
+import com.pfm.FinanceManager.dto.ImportResultResponse;
+import com.pfm.FinanceManager.dto.TransactionFilter;
+import com.pfm.FinanceManager.dto.TransactionPageResponse;
 import com.pfm.FinanceManager.dto.TransactionRequest;
 import com.pfm.FinanceManager.dto.TransactionResponse;
 import com.pfm.FinanceManager.dto.TransactionUpdateRequest;
@@ -7,21 +12,40 @@ import com.pfm.FinanceManager.entity.Category;
 import com.pfm.FinanceManager.entity.Transaction;
 import com.pfm.FinanceManager.entity.TransactionType;
 import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.event.TransactionChangedEvent;
+import com.pfm.FinanceManager.event.TransactionDelta;
 import com.pfm.FinanceManager.repository.CategoryRepository;
 import com.pfm.FinanceManager.repository.TransactionRepository;
+import com.pfm.FinanceManager.service.MonthlyRollupService;
 import com.pfm.FinanceManager.util.SessionUtil;
+import com.pfm.FinanceManager.util.TransactionCsvUtil;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +63,24 @@ class TransactionServiceImplTest {
     @Mock
     private SessionUtil sessionUtil;
 
+    @Mock
+    private MonthlyRollupService rollupService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private TransactionCsvUtil csvUtil = new TransactionCsvUtil();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -98,6 +140,8 @@ class TransactionServiceImplTest {
         assertEquals(testTransaction.getDate(), response.getDate());
 
         verify(transactionRepo).save(any(Transaction.class));
+        verify(rollupService).record(testTransaction);
+        verify(eventPublisher).publishEvent(any(TransactionChangedEvent.class));
     }
 
     @Test
@@ -106,6 +150,116 @@ class TransactionServiceImplTest {
         when(categoryRepo.findByNameAndUser("Food", testUser)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> transactionService.create(createRequest));
+        verifyNoInteractions(rollupService);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void importJson_ReportsInvalidRows() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(categoryRepo.findByUser(testUser)).thenReturn(List.of(testCategory));
+
+        String json = "[" + jsonRow("100.00", "Food") + ","
+                + jsonRow("5.00", "Travel") + ","
+                + "{\"date\":\"" + LocalDate.now() + "\",\"category\":\"Food\"},"
+                + jsonRow("100.00", "Food") + "]";
+        ImportResultResponse result = transactionService.importJson(new StringReader(json));
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("Category not found: Travel", result.getErrors().get(0).getMessage());
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertEquals("Amount is required", result.getErrors().get(1).getMessage());
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        verify(rollupService).recordTotals(testUser, YearMonth.from(LocalDate.now()), testCategory,
+                TransactionType.EXPENSE, new BigDecimal("200.00"), 2);
+        verify(transactionRepo, never()).save(any(Transaction.class));
+
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(testUser.getId(), event.getValue().getUserId());
+        assertEquals(2, event.getValue().getDeltas().size());
+    }
+
+    @Test
+    void importJson_ReportsNullRowsAsEmpty() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(categoryRepo.findByUser(testUser)).thenReturn(List.of(testCategory));
+
+        ImportResultResponse result = transactionService.importJson(
+                new StringReader("[null," + jsonRow("100.00", "Food") + ",null]"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("Empty row", result.getErrors().get(0).getMessage());
+        assertEquals(3, result.getErrors().get(1).getRow());
+    }
+
+    @Test
+    void importJson_MalformedElement_ReportedAsRowError() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(categoryRepo.findByUser(testUser)).thenReturn(List.of(testCategory));
+
+        String json = "[" + jsonRow("100.00", "Food") + ","
+                + "{\"amount\":\"abc\",\"date\":\"" + LocalDate.now() + "\",\"category\":\"Food\"},"
+                + "{\"amount\":\"1.00\",\"date\":\"not-a-date\",\"category\":\"Food\"},"
+                + jsonRow("50.00", "Food") + "]";
+        ImportResultResponse result = transactionService.importJson(new StringReader(json));
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("Invalid amount: abc", result.getErrors().get(0).getMessage());
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertEquals("Invalid date: not-a-date", result.getErrors().get(1).getMessage());
+        verify(rollupService).recordTotals(testUser, YearMonth.from(LocalDate.now()), testCategory,
+                TransactionType.EXPENSE, new BigDecimal("150.00"), 2);
+    }
+
+    @Test
+    void importCsv_Success() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(categoryRepo.findByUser(testUser)).thenReturn(List.of(testCategory));
+
+        String csv = TransactionCsvUtil.HEADER + "\n"
+                + LocalDate.now() + ",100.00,Food,\"Groceries, weekly\"\n"
+                + "not-a-date,1.00,Food,\n";
+        ImportResultResponse result = transactionService.importCsv(new StringReader(csv));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void importJson_OverRowLimit_RejectedBeforeAnyRow() {
+        ReflectionTestUtils.setField(transactionService, "maxImportRows", 2);
+        String row = jsonRow("1.00", "Food");
+        // The trailing garbage is never reached: reading stops at the third element
+        String json = "[" + row + "," + row + "," + row + "," + "not json";
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> transactionService.importJson(new StringReader(json)));
+
+        assertEquals("Import cannot exceed 2 rows", error.getMessage());
+        verifyNoInteractions(categoryRepo, jdbcTemplate, rollupService, eventPublisher, validator);
+    }
+
+    @Test
+    void importCsv_OverRowLimit_RejectedBeforeAnyRow() {
+        ReflectionTestUtils.setField(transactionService, "maxImportRows", 2);
+        String csv = TransactionCsvUtil.HEADER + "\n"
+                + "2024-03-01,1.00,Food,\n"
+                + "2024-03-02,1.00,Food,\n"
+                + "2024-03-03,1.00,Food,\n";
+
+        assertThrows(RuntimeException.class, () -> transactionService.importCsv(new StringReader(csv)));
+
+        verifyNoInteractions(categoryRepo, jdbcTemplate, rollupService, eventPublisher, validator);
     }
 
     @Test
@@ -134,6 +288,107 @@ class TransactionServiceImplTest {
         assertEquals(testTransaction.getType(), responses.get(0).getType());
     }
 
+    @Test
+    void getPage_FirstPageHasNextCursor() {
+        Transaction older = new Transaction();
+        older.setId(2L);
+        older.setAmount(new BigDecimal("20.00"));
+        older.setType(TransactionType.EXPENSE);
+        older.setCategory(testCategory);
+        older.setDate(LocalDate.now().minusDays(1));
+        older.setUser(testUser);
+
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(transactionRepo.findFirstPage(testUser, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(testTransaction, older));
+
+        TransactionPageResponse page = transactionService.getPage(null, 1);
+
+        assertEquals(1, page.getTransactions().size());
+        assertEquals(testTransaction.getId(), page.getTransactions().get(0).getId());
+        assertNotNull(page.getNextCursor());
+
+        when(transactionRepo.findPageAfter(testUser, testTransaction.getDate(), testTransaction.getId(), PageRequest.of(0, 2)))
+                .thenReturn(List.of(older));
+
+        TransactionPageResponse next = transactionService.getPage(page.getNextCursor(), 1);
+
+        assertEquals(1, next.getTransactions().size());
+        assertEquals(older.getId(), next.getTransactions().get(0).getId());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getPage_InvalidCursor() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+
+        assertThrows(RuntimeException.class, () -> transactionService.getPage("not-a-cursor", 10));
+        verify(transactionRepo, never()).findPageAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_NdjsonWithoutFilters_StreamsEveryRow() throws IOException {
+        TransactionResponse row = TransactionResponse.builder()
+                .id(1L)
+                .amount(new BigDecimal("100.00"))
+                .date(LocalDate.of(2024, 3, 20))
+                .type(TransactionType.EXPENSE)
+                .category("Food")
+                .build();
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionResponse>) invocation.getArgument(2)).accept(row);
+            return null;
+        }).when(transactionRepo).streamForExport(eq(1L), any(TransactionFilter.class), any());
+
+        StreamingResponseBody body = transactionService.export(ExportFormat.NDJSON, null, null, null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        assertEquals(objectMapper.writeValueAsString(row) + "\n", out.toString(StandardCharsets.UTF_8));
+        verify(transactionRepo).streamForExport(eq(1L), eq(new TransactionFilter(null, null, null, null)), any());
+        verifyNoInteractions(categoryRepo);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_StreamsCsvWithFilters() throws IOException {
+        TransactionResponse row = TransactionResponse.builder()
+                .id(1L)
+                .amount(new BigDecimal("100.00"))
+                .date(LocalDate.of(2024, 3, 20))
+                .type(TransactionType.EXPENSE)
+                .category("Food")
+                .description("Groceries, weekly")
+                .build();
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(categoryRepo.findByNameAndUser("Food", testUser)).thenReturn(Optional.of(testCategory));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionResponse>) invocation.getArgument(2)).accept(row);
+            return null;
+        }).when(transactionRepo).streamForExport(eq(1L), any(TransactionFilter.class), any());
+
+        StreamingResponseBody body = transactionService.export(ExportFormat.CSV,
+                LocalDate.of(2024, 1, 1), null, TransactionType.EXPENSE, "Food");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        assertEquals(TransactionCsvUtil.HEADER + "\n2024-03-20,100.00,Food,\"Groceries, weekly\"\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(transactionRepo).streamForExport(eq(1L),
+                eq(new TransactionFilter(LocalDate.of(2024, 1, 1), null, TransactionType.EXPENSE, 1L)), any());
+    }
+
+    @Test
+    void export_UnknownCategoryFailsBeforeStreaming() {
+        when(sessionUtil.getSessionUser()).thenReturn(testUser);
+        when(categoryRepo.findByNameAndUser("Travel", testUser)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class,
+                () -> transactionService.export(ExportFormat.NDJSON, null, null, null, "Travel"));
+    }
+
     @Test
     void getByDateRange_Success() {
         when(sessionUtil.getSessionUser()).thenReturn(testUser);
@@ -192,6 +447,16 @@ class TransactionServiceImplTest {
         assertEquals(updateRequest.getAmount(), response.getAmount());
         assertEquals(updateRequest.getDescription(), response.getDescription());
         verify(transactionRepo).save(any(Transaction.class));
+        verify(rollupService).reverse(testTransaction);
+        verify(rollupService).record(testTransaction);
+
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        List<TransactionDelta> deltas = event.getValue().getDeltas();
+        assertEquals(new BigDecimal("-100.00"), deltas.get(0).getAmount());
+        assertEquals(-1, deltas.get(0).getCount());
+        assertEquals(updateRequest.getAmount(), deltas.get(1).getAmount());
+        assertEquals(1, deltas.get(1).getCount());
     }
 
     @Test
@@ -222,7 +487,9 @@ class TransactionServiceImplTest {
 
         transactionService.delete(1L);
 
+        verify(rollupService).reverse(testTransaction);
         verify(transactionRepo).deleteById(1L);
+        verify(eventPublisher).publishEvent(any(TransactionChangedEvent.class));
     }
 
     @Test
@@ -244,4 +511,9 @@ class TransactionServiceImplTest {
 
         assertThrows(RuntimeException.class, () -> transactionService.delete(1L));
     }
-} 
\ No newline at end of file
+
+    private static String jsonRow(String amount, String category) {
+        return "{\"amount\":\"" + amount + "\",\"date\":\"" + LocalDate.now()
+                + "\",\"category\":\"" + category + "\"}";
+    }
+}
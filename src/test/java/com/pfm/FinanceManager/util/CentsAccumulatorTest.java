@@ -0,0 +1,85 @@
+package com.pfm.FinanceManager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentsAccumulatorTest {
+
+    @Test
+    void sumsPerKeyLikeBigDecimalAddition() {
+        CentsAccumulator<Long> sums = new CentsAccumulator<>();
+        sums.add(1L, new BigDecimal("10.25"));
+        sums.add(2L, new BigDecimal("-3.10"));
+        sums.add(1L, new BigDecimal("0.75"));
+
+        assertEquals(new BigDecimal("11.00"), sums.total(1L));
+        assertEquals(new BigDecimal("-3.10"), sums.total(2L));
+        assertEquals(new BigDecimal("7.90"), sums.grandTotal());
+        assertEquals(BigDecimal.ZERO, sums.total(3L));
+    }
+
+    @Test
+    void keepsLargestInputScale() {
+        CentsAccumulator<String> sums = new CentsAccumulator<>();
+        sums.add("whole", new BigDecimal("100"));
+        sums.add("whole", new BigDecimal("5"));
+        sums.add("mixed", new BigDecimal("1"));
+        sums.add("mixed", new BigDecimal("0.5"));
+
+        assertEquals(new BigDecimal("105"), sums.total("whole"));
+        assertEquals(new BigDecimal("1.5"), sums.total("mixed"));
+    }
+
+    @Test
+    void moreThanTwoDecimalsStaysExact() {
+        CentsAccumulator<String> sums = new CentsAccumulator<>();
+        sums.add("fx", new BigDecimal("0.10"));
+        sums.add("fx", new BigDecimal("0.005"));
+        sums.add("fx", new BigDecimal("0.20"));
+
+        assertEquals(new BigDecimal("0.305"), sums.total("fx"));
+    }
+
+    @Test
+    void overflowFallsBackToBigDecimal() {
+        CentsAccumulator<String> sums = new CentsAccumulator<>();
+        sums.add("big", Long.MAX_VALUE - 1);
+        sums.add("big", 5L);
+        sums.add("big", new BigDecimal("1.00"));
+
+        BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE - 1, 2)
+                .add(BigDecimal.valueOf(5, 2))
+                .add(new BigDecimal("1.00"));
+        assertEquals(expected, sums.total("big"));
+    }
+
+    @Test
+    void amountsBeyondFastPathStayExact() {
+        CentsAccumulator<String> sums = new CentsAccumulator<>();
+        BigDecimal huge = new BigDecimal("123456789012345678.91");
+        sums.add("huge", huge);
+        sums.add("huge", new BigDecimal("0.09"));
+
+        assertEquals(new BigDecimal("123456789012345679.00"), sums.total("huge"));
+    }
+
+    @Test
+    void toMapMergesNamesInFirstSeenOrder() {
+        CentsAccumulator<Long> sums = new CentsAccumulator<>();
+        for (long id = 0; id < 40; id++) {
+            sums.add(id, new BigDecimal("1.00"));
+        }
+
+        Map<String, BigDecimal> byParity = sums.toMap(id -> id % 2 == 0 ? "even" : "odd");
+
+        assertEquals(new BigDecimal("20.00"), byParity.get("even"));
+        assertEquals(new BigDecimal("20.00"), byParity.get("odd"));
+        assertEquals("even", byParity.keySet().iterator().next());
+        assertEquals(40, sums.toMap(Function.identity()).size());
+    }
+}
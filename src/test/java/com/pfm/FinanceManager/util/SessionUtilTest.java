@@ -0,0 +1,119 @@
+package com.pfm.FinanceManager.util;
+
+import com.pfm.FinanceManager.cache.SessionUserCache;
+import com.pfm.FinanceManager.entity.User;
+import com.pfm.FinanceManager.repository.UserRepository;
+import com.pfm.FinanceManager.security.AuthTokenManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionUtilTest {
+
+    @Mock
+    private HttpSession session;
+
+    @Mock
+    private UserRepository userRepo;
+
+    private SessionUserCache userCache;
+    private SessionUtil sessionUtil;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new SessionUserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        sessionUtil = new SessionUtil(session, userRepo, userCache,
+                new AuthTokenManager("session", "", Duration.ofMinutes(30)));
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("test@example.com");
+    }
+
+    @Test
+    void getSessionUser_LoadsOnceAcrossRequests() {
+        when(session.getAttribute("user")).thenReturn(1L);
+        when(userRepo.findById(1L)).thenReturn(Optional.of(testUser));
+
+        assertEquals(testUser, sessionUtil.getSessionUser());
+        assertEquals(testUser, sessionUtil.getSessionUser());
+
+        verify(userRepo, times(1)).findById(1L);
+    }
+
+    @Test
+    void getSessionUser_ReloadsAfterEviction() {
+        when(session.getAttribute("user")).thenReturn(1L);
+        when(userRepo.findById(1L)).thenReturn(Optional.of(testUser));
+
+        sessionUtil.getSessionUser();
+        userCache.evict(1L);
+        sessionUtil.getSessionUser();
+
+        verify(userRepo, times(2)).findById(1L);
+    }
+
+    @Test
+    void getSessionUser_TokenMode_ReadsVerifiedUserIdNotSession() {
+        AuthTokenManager tokens = mock(AuthTokenManager.class);
+        when(tokens.isStateless()).thenReturn(true);
+        when(tokens.currentUserId()).thenReturn(1L);
+        when(userRepo.findById(1L)).thenReturn(Optional.of(testUser));
+        SessionUtil tokenSessionUtil = new SessionUtil(session, userRepo, userCache, tokens);
+
+        assertEquals(testUser, tokenSessionUtil.getSessionUser());
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    void getSessionUser_NotLoggedIn() {
+        when(session.getAttribute("user")).thenReturn(null);
+
+        assertThrows(RuntimeException.class, () -> sessionUtil.getSessionUser());
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void getSessionUser_UserMissingIsNotCached() {
+        when(session.getAttribute("user")).thenReturn(1L);
+        when(userRepo.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> sessionUtil.getSessionUser());
+        assertThrows(RuntimeException.class, () -> sessionUtil.getSessionUser());
+
+        verify(userRepo, times(2)).findById(1L);
+    }
+
+    @Test
+    void getSessionTimeLeft_SessionMode_IsIdleTimeout() {
+        when(session.getMaxInactiveInterval()).thenReturn(1800);
+
+        assertEquals(Duration.ofMinutes(30), sessionUtil.getSessionTimeLeft());
+    }
+
+    @Test
+    void getSessionTimeLeft_TokenMode_IsTimeToExpiry() {
+        AuthTokenManager tokens = mock(AuthTokenManager.class);
+        when(tokens.isStateless()).thenReturn(true);
+        when(tokens.currentExpiry()).thenReturn(Instant.now().plus(Duration.ofMinutes(10)));
+        SessionUtil tokenSessionUtil = new SessionUtil(session, userRepo, userCache, tokens);
+
+        Duration timeLeft = tokenSessionUtil.getSessionTimeLeft();
+
+        assertTrue(timeLeft.compareTo(Duration.ofMinutes(9)) > 0 && timeLeft.compareTo(Duration.ofMinutes(10)) <= 0);
+        verifyNoInteractions(session);
+    }
+}
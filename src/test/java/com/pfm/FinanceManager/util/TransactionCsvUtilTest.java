@@ -0,0 +1,66 @@
+package com.pfm.FinanceManager.util;
+
+import com.pfm.FinanceManager.dto.ImportRowError;
+import com.pfm.FinanceManager.dto.TransactionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionCsvUtilTest {
+
+    private final TransactionCsvUtil csvUtil = new TransactionCsvUtil();
+
+    @Test
+    void parse_QuotedFieldsAndHeader() {
+        String csv = "date,amount,category,description\n"
+                + "2024-03-20,100.00,Food,\"Groceries, \"\"weekly\"\"\"\n"
+                + "\n"
+                + "2024-03-01,2500,Salary\n";
+        List<ImportRowError> errors = new ArrayList<>();
+
+        List<TransactionRequest> rows = csvUtil.parse(new StringReader(csv), 100, errors);
+
+        assertTrue(errors.isEmpty());
+        assertEquals(2, rows.size());
+        assertEquals(LocalDate.of(2024, 3, 20), rows.get(0).getDate());
+        assertEquals(new BigDecimal("100.00"), rows.get(0).getAmount());
+        assertEquals("Food", rows.get(0).getCategory());
+        assertEquals("Groceries, \"weekly\"", rows.get(0).getDescription());
+        assertEquals("Salary", rows.get(1).getCategory());
+        assertNull(rows.get(1).getDescription());
+    }
+
+    @Test
+    void parse_MalformedRecordsKeepPosition() {
+        String csv = "2024-03-20,abc,Food,\n"
+                + "2024-03-21,10.00\n"
+                + "2024-03-22,10.00,Food,ok\n";
+        List<ImportRowError> errors = new ArrayList<>();
+
+        List<TransactionRequest> rows = csvUtil.parse(new StringReader(csv), 100, errors);
+
+        assertEquals(3, rows.size());
+        assertNull(rows.get(0));
+        assertNull(rows.get(1));
+        assertNotNull(rows.get(2));
+        assertEquals(2, errors.size());
+        assertEquals(1, errors.get(0).getRow());
+        assertEquals(2, errors.get(1).getRow());
+    }
+
+    @Test
+    void parse_MoreRecordsThanLimit_Throws() {
+        String csv = "date,amount,category,description\n"
+                + "2024-03-20,1.00,Food,\n"
+                + "2024-03-21,1.00,Food,\n";
+
+        assertEquals(2, csvUtil.parse(new StringReader(csv), 2, new ArrayList<>()).size());
+        assertThrows(RuntimeException.class, () -> csvUtil.parse(new StringReader(csv), 1, new ArrayList<>()));
+    }
+}